@@ -10,4 +10,11 @@ public class Flags {
 	public static final boolean REPLAY_ANALYSIS_ERRORS = true;
 	public static final boolean REPLAY_DEPENDENCY_RESOLUTION = true;
 	public static final boolean REPLAY_DEPENDENCY_RESOLUTION_ERRORS = true;
+
+	/**
+	 * Whether artifacts are analyzed with the {@link org.codefx.jwos.jdeps.scan.BytecodeScanner BytecodeScanner},
+	 * which is much faster than JDeps but only approximates its results; set the system property
+	 * {@code jwos.analyzeWithBytecodeScanner} to {@code true} to opt in.
+	 */
+	public static final boolean ANALYZE_WITH_BYTECODE_SCANNER = Boolean.getBoolean("jwos.analyzeWithBytecodeScanner");
 }
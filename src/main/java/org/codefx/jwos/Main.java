@@ -1,6 +1,7 @@
 package org.codefx.jwos;
 
 import org.codefx.jwos.analysis.AnalysisTaskManager;
+import org.codefx.jwos.analysis.TaskCapacities;
 import org.codefx.jwos.artifact.AnalyzedArtifact;
 import org.codefx.jwos.artifact.ArtifactCoordinates;
 import org.codefx.jwos.artifact.CompletedArtifact;
@@ -10,6 +11,8 @@ import org.codefx.jwos.artifact.FailedProject;
 import org.codefx.jwos.artifact.ProjectCoordinates;
 import org.codefx.jwos.artifact.ResolvedArtifact;
 import org.codefx.jwos.artifact.ResolvedProject;
+import org.codefx.jwos.computation.AdaptiveComputationExecutor;
+import org.codefx.jwos.computation.BatchTaskComputation;
 import org.codefx.jwos.computation.Computation;
 import org.codefx.jwos.computation.ComputationThread;
 import org.codefx.jwos.computation.RecurrentComputation;
@@ -19,11 +22,15 @@ import org.codefx.jwos.computation.TaskComputation;
 import org.codefx.jwos.computation.TaskSink;
 import org.codefx.jwos.computation.TaskSource;
 import org.codefx.jwos.discovery.ProjectListFile;
+import org.codefx.jwos.file.JournalingAnalysisPersistence;
 import org.codefx.jwos.file.WallFiles;
 import org.codefx.jwos.file.WallOfShame;
-import org.codefx.jwos.file.YamlAnalysisPersistence;
+import org.codefx.jwos.file.YamlAnalysisCache;
 import org.codefx.jwos.git.GitInformation;
+import org.codefx.jwos.jdeps.ArtifactAnalyzer;
 import org.codefx.jwos.jdeps.JDeps;
+import org.codefx.jwos.jdeps.cache.CachingArtifactAnalyzer;
+import org.codefx.jwos.jdeps.scan.BytecodeScanner;
 import org.codefx.jwos.maven.MavenCentral;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,22 +38,20 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singleton;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toList;
 
 /**
  * Puts the pieces together:
  * <ul>
  *     <li>projects are read from a {@link ProjectListFile}
  *     <li>project versions are identified with {@link MavenCentral} and used to create artifact coordinates
- *     <li>artifacts are downloaded (with {@code MavenCentral}) and analysed (with {@link JDeps})
+ *     <li>artifacts are downloaded (with {@code MavenCentral}) and analysed (with {@link JDeps} or, if
+ *     {@link Flags#ANALYZE_WITH_BYTECODE_SCANNER} is set, with {@link BytecodeScanner})
  *     <li>an artifact's dependees (the artifacts on which it depends) are resolved (with {@code MavenCentral})
  *     so they (and all other versions of the same project) can be analysed as well
  *     <li>results are written to the {@link WallOfShame}
@@ -59,17 +64,55 @@ public class Main {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger("Main");
 
-	public static void main(String[] args) throws IOException {
+	private static final int MAX_VERSION_RESOLUTION_WORKERS = 2;
+	private static final int MAX_DOWNLOAD_WORKERS = 4;
+	/**
+	 * The analysis is CPU bound, so more workers than cores only add contention.
+	 */
+	private static final int MAX_ANALYSIS_WORKERS = Runtime.getRuntime().availableProcessors();
+	/**
+	 * How many artifacts are analyzed in one go (e.g. in one JDeps run).
+	 */
+	private static final int ANALYSIS_BATCH_SIZE = 8;
+	private static final int MAX_DEPENDENCY_RESOLUTION_WORKERS = 8;
+	/**
+	 * If I/O stages run on virtual threads, which are cheap enough to have many of them wait for the network, this is
+	 * the maximum number of workers (and hence tasks in flight) per I/O stage instead of the limits above. It can be
+	 * configured with the system property {@code jwos.maxIoInFlight}.
+	 */
+	private static final int MAX_IO_IN_FLIGHT = Integer.getInteger("jwos.maxIoInFlight", 64);
+	/**
+	 * How many tasks can wait in a channel per worker that works on it; more are kept in the task manager.
+	 */
+	private static final int WAITING_TASKS_PER_WORKER = 4;
+	/**
+	 * How often new results are committed to the journal; all results that were added in the meantime are written
+	 * and forced to disk at once.
+	 */
+	private static final Duration RESULT_COMMIT_PERIOD = Duration.ofSeconds(1);
+
+	public static void main(String[] args) throws IOException, InterruptedException {
 		LOGGER.info("Processing existing results...");
 		Path resultFile = Util.getPathToExistingResourceFile(Util.RESULT_FILE_NAME);
-		YamlAnalysisPersistence persistence = Util.createYamlPersistence(resultFile);
+		// new results are appended to the journal and only compacted into the result file at the end
+		JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence
+				.open(resultFile, resultFile.resolveSibling(Util.RESULT_JOURNAL_FILE_NAME));
 
 		LOGGER.info("Setting up task manager...");
-		AnalysisTaskManager taskManager = new AnalysisTaskManager(persistence);
+		AdaptiveComputationExecutor computations = new AdaptiveComputationExecutor();
+		AnalysisTaskManager taskManager = new AnalysisTaskManager(persistence, new TaskCapacities(
+				maxIoWorkers(computations, MAX_VERSION_RESOLUTION_WORKERS) * WAITING_TASKS_PER_WORKER,
+				maxIoWorkers(computations, MAX_DOWNLOAD_WORKERS) * WAITING_TASKS_PER_WORKER,
+				MAX_ANALYSIS_WORKERS * ANALYSIS_BATCH_SIZE * WAITING_TASKS_PER_WORKER,
+				maxIoWorkers(computations, MAX_DEPENDENCY_RESOLUTION_WORKERS) * WAITING_TASKS_PER_WORKER));
 
 		LOGGER.info("Setting up tasks...");
 		MavenCentral maven = new MavenCentral(Util.LOCAL_MAVEN_REPOSITORY.toString());
-		JDeps jdeps = new JDeps();
+		Path analysisCacheFile = resultFile.resolveSibling(Util.ANALYSIS_CACHE_FILE_NAME);
+		ArtifactAnalyzer uncachedAnalyzer = createAnalyzer();
+		// the cache is discarded if it contains another analyzer's results
+		YamlAnalysisCache analysisCache = Util.createYamlAnalysisCache(analysisCacheFile, uncachedAnalyzer.identity());
+		ArtifactAnalyzer analyzer = new CachingArtifactAnalyzer(uncachedAnalyzer, analysisCache);
 		WallOfShame wallOfShame = WallOfShame.openExistingDirectory(
 				WallFiles.defaultsInDirectory(Util.PAGES_DIRECTORY),
 				GitInformation.simple(
@@ -78,44 +121,75 @@ public class Main {
 						Util.GIT_USER_NAME,
 						Util.GIT_PASSWORD,
 						Util.GIT_EMAIL));
-		Path resultTempFile = Util.createNewTempFileForResourceFile(Util.RESULT_FILE_NAME);
-		List<ComputationThread> threads = createComputations(
-				resultTempFile, persistence, taskManager, maven, jdeps, wallOfShame);
+		addStages(computations, taskManager, maven, analyzer, wallOfShame);
+		ComputationThread commitResults = new ComputationThread(
+				commitResults(persistence),
+				ComputationThread.OnAbort.DO_NOT_INTERRUPT_THREAD);
 
 		LOGGER.info("Starting computation...");
 		Thread.currentThread().setName("Manage Queues");
-		threads.forEach(ComputationThread::start);
+		computations.start();
+		commitResults.start();
 
 		// this call blocks until everything is done
 		taskManager.manageQueues();
 
-		threads.forEach(ComputationThread::notifyAbort);
+		computations.notifyAbort();
+		commitResults.notifyAbort();
+		// the thread is not interrupted (that would close the journal's file channel), so wait for its last commit
+		commitResults.join();
 
 		LOGGER.info("Writing results...");
 		wallOfShame.write();
-		Files.write(resultFile, singleton(persistence.toYaml()));
+		persistence.compact();
+		persistence.close();
+		Files.write(analysisCacheFile, singleton(analysisCache.toYaml()));
 
 		LOGGER.info("All done.");
 	}
 
-	private static List<ComputationThread> createComputations(Path resultFile,
-			YamlAnalysisPersistence persistence, AnalysisTaskManager taskManager, MavenCentral maven, JDeps jdeps,
+	private static ArtifactAnalyzer createAnalyzer() {
+		if (Flags.ANALYZE_WITH_BYTECODE_SCANNER) {
+			LOGGER.info("Analyzing artifacts with the bytecode scanner instead of JDeps.");
+			return new BytecodeScanner();
+		}
+		return new JDeps();
+	}
+
+	/**
+	 * @return the maximum number of workers for an I/O stage, which is higher if it runs on virtual threads
+	 */
+	private static int maxIoWorkers(AdaptiveComputationExecutor computations, int maxPlatformWorkers) {
+		return computations.runsIoStagesOnVirtualThreads()
+				? Math.max(MAX_IO_IN_FLIGHT, maxPlatformWorkers)
+				: maxPlatformWorkers;
+	}
+
+	private static void addStages(
+			AdaptiveComputationExecutor computations,
+			AnalysisTaskManager taskManager,
+			MavenCentral maven,
+			ArtifactAnalyzer analyzer,
 			WallOfShame wallOfShame) {
-		List<ComputationThread> computations = Stream
-				.of(
-						createComputationsToReadProjectFiles(taskManager),
-						createComputationsTo(resolveProjectVersions(taskManager, maven), 1),
-						createComputationsTo(downloadArtifact(taskManager, maven), 2),
-						createComputationsTo(analyzeArtifact(taskManager, jdeps), 4),
-						createComputationsTo(resolveArtifactDependees(taskManager, maven), 4),
-						createComputationsTo(outputResults(taskManager, wallOfShame), 1))
-				.flatMap(identity())
-				.map(ComputationThread::new)
-				.collect(toList());
-		computations.add(new ComputationThread(
-				writeToYaml(persistence, resultFile),
-				ComputationThread.OnAbort.DO_NOT_INTERRUPT_THREAD));
-		return computations;
+		createComputationsToReadProjectFiles(taskManager).forEach(source -> computations.addStage(source, 1));
+		computations.addIoStage(
+				resolveProjectVersions(taskManager, maven),
+				1, maxIoWorkers(computations, MAX_VERSION_RESOLUTION_WORKERS),
+				taskManager::nrOfWaitingVersionResolutions);
+		computations.addIoStage(
+				downloadArtifact(taskManager, maven),
+				1, maxIoWorkers(computations, MAX_DOWNLOAD_WORKERS),
+				taskManager::nrOfWaitingDownloads);
+		computations.addStage(
+				analyzeArtifact(taskManager, analyzer),
+				1, MAX_ANALYSIS_WORKERS,
+				taskManager::nrOfWaitingAnalyses);
+		computations.addIoStage(
+				resolveArtifactDependees(taskManager, maven),
+				1, maxIoWorkers(computations, MAX_DEPENDENCY_RESOLUTION_WORKERS),
+				taskManager::nrOfWaitingDependencyResolutions);
+		// the wall of shame is not synchronized, so results are written by a single worker
+		computations.addStage(outputResults(taskManager, wallOfShame), 1);
 	}
 
 	private static Stream<Computation> createComputationsToReadProjectFiles(AnalysisTaskManager taskManager) {
@@ -132,11 +206,13 @@ public class Main {
 		try {
 			Path file = Util.getPathToExistingResourceFile(fileName);
 			ProjectListFile listFile = new ProjectListFile(file).open();
+			taskManager.registerProjectSource();
 			Computation computation = new TaskSource<>(
 					"Read Project File",
 					ignored -> listFile.readNextProject(),
 					taskManager::addProject,
-					(ignored, error) -> taskManager.findingProjectFailed(error));
+					(ignored, error) -> taskManager.findingProjectFailed(error),
+					taskManager::projectSourceExhausted);
 			return Optional.of(computation);
 		} catch (IOException ex) {
 			LOGGER.error("Failed to read project file '" + fileName + "'.", ex);
@@ -144,12 +220,6 @@ public class Main {
 		}
 	}
 
-	private static Stream<Computation> createComputationsTo(Computation computation, int threads) {
-		return IntStream
-				.range(0, threads)
-				.mapToObj(any -> computation);
-	}
-
 	private static TaskComputation<ProjectCoordinates, ResolvedProject> resolveProjectVersions(
 			AnalysisTaskManager taskManager, MavenCentral maven) {
 		return new TaskComputation<>(
@@ -170,12 +240,13 @@ public class Main {
 				sendArtifactError(taskManager::downloadFailed));
 	}
 
-	private static TaskComputation<DownloadedArtifact, AnalyzedArtifact> analyzeArtifact(
-			AnalysisTaskManager taskManager, JDeps jdeps) {
-		return new TaskComputation<>(
+	private static BatchTaskComputation<DownloadedArtifact, AnalyzedArtifact> analyzeArtifact(
+			AnalysisTaskManager taskManager, ArtifactAnalyzer analyzer) {
+		return new BatchTaskComputation<>(
 				"Analyze Artifact",
-				taskManager::getNextToAnalyze,
-				jdeps::analyze,
+				() -> taskManager.getNextToAnalyze(ANALYSIS_BATCH_SIZE),
+				analyzer::analyze,
+				analyzer::analyze,
 				taskManager::analyzed,
 				(DownloadedArtifact artifact, Exception error)
 						-> taskManager.analysisFailed(new FailedArtifact(artifact.coordinates(), error)));
@@ -191,14 +262,12 @@ public class Main {
 				sendArtifactError(taskManager::dependencyResolutionFailed));
 	}
 
-	private static Computation writeToYaml(
-			YamlAnalysisPersistence persistence,
-			Path resultFile) {
+	private static Computation commitResults(JournalingAnalysisPersistence persistence) {
 		return new RecurrentComputation(
-				"Write Results To YAML",
-				() -> Files.write(resultFile, singleton(persistence.toYaml())),
-				// the delay is not yet implemented
-				200);
+				"Commit Results",
+				// does nothing if no results were added since the last commit
+				persistence::commit,
+				RESULT_COMMIT_PERIOD);
 	}
 
 	private static TaskSink<CompletedArtifact> outputResults(AnalysisTaskManager taskManager, WallOfShame wallOfShame) {
@@ -2,6 +2,7 @@ package org.codefx.jwos;
 
 import com.google.common.collect.ImmutableSet;
 import org.codefx.jwos.file.RuntimeIOException;
+import org.codefx.jwos.file.YamlAnalysisCache;
 import org.codefx.jwos.file.YamlAnalysisPersistence;
 
 import java.io.ByteArrayInputStream;
@@ -31,6 +32,8 @@ public class Util {
 //			"top100JavaLibrariesByTakipi.txt"
 	};
 	public static final String RESULT_FILE_NAME = "results.yaml";
+	public static final String RESULT_JOURNAL_FILE_NAME = "results.journal";
+	public static final String ANALYSIS_CACHE_FILE_NAME = "analysis-cache.yaml";
 
 	public static final Path LOCAL_MAVEN_REPOSITORY = Paths.get("/home/parlog/.m2/repository");
 	public static final Path PAGES_DIRECTORY = Paths.get("/home/parlog/Code/others-nipa/JDeps-Wall-of-Shame-Pages");
@@ -91,5 +94,11 @@ public class Util {
 		return YamlAnalysisPersistence.fromStream(Files.newInputStream(resultFile));
 	}
 
+	public static YamlAnalysisCache createYamlAnalysisCache(Path cacheFile, String analyzer) throws IOException {
+		if (!Files.exists(cacheFile))
+			return YamlAnalysisCache.empty(analyzer);
+		return YamlAnalysisCache.fromStream(Files.newInputStream(cacheFile), analyzer);
+	}
+
 
 }
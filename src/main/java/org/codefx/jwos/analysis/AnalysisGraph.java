@@ -2,6 +2,7 @@ package org.codefx.jwos.analysis;
 
 import com.google.common.collect.ImmutableSet;
 import org.codefx.jwos.analysis.task.Task;
+import org.codefx.jwos.analysis.task.TaskStateIdentifier;
 import org.codefx.jwos.artifact.ArtifactCoordinates;
 import org.codefx.jwos.artifact.IdentifiesArtifact;
 import org.codefx.jwos.artifact.IdentifiesProject;
@@ -12,22 +13,42 @@ import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 import static org.codefx.jwos.Util.toImmutableSet;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.FAILED;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.SUCCEEDED;
 
 /**
  * The graph of projects, artifacts, and their dependencies.
  * <p>
  * The graph's nodes not only encapsulate an artifact or project but also all the tasks that have to be completed for
- * them. Nodes should only be accessed directly (via {@link #artifactNodes()} or {@link #projectNodes()}) to identify
- * open tasks. Otherwise tasks should be accessed via methods like {@link #downloadOf(IdentifiesArtifact)}.
+ * them. Tasks should be accessed via methods like {@link #downloadOf(IdentifiesArtifact)}.
  * <p>
- * This class serves as a data structure for {@link AnalysisTaskManager}.
- * It is highly mutable and pretty thread-unsafe. The only thread-safety it guarantees is that concurrent read and write
- * access to the collections of project and artifact nodes, respectively, will not fail. Invariants regarding individual
- * projects/artifacts can not be guaranteed for concurrent read or write access.
+ * Open tasks are identified via the work frontier: For each stage the graph keeps the nodes that are ready for it
+ * (e.g. {@link #drainArtifactsToAnalyze()}). These ready sets are updated whenever a node is created or one of its
+ * tasks changes state, so identifying open tasks only costs as much as the number of changes since the last time.
+ * Drained nodes must still be checked before processing them because tasks can change state (e.g. by replaying
+ * results) while the node is waiting in a ready set.
+ * <p>
+ * The graph also counts its nodes, the ones whose relevant tasks are not yet finished, and the tasks that are in
+ * progress, which makes {@link #allTasksCompleted()} and {@link #nrOfTasksInProgress()} constant time operations.
+ * <p>
+ * This class serves as a data structure for {@link AnalysisTaskManager}, which is its only writer: workers hand their
+ * results to the manager's bookkeeping thread, which records them in the graph. The graph makes these guarantees for
+ * concurrent access:
+ * <ul>
+ *     <li>reading and writing the collections of project and artifact nodes will not fail
+ *     <li>each {@link Task}'s state transitions are atomic and the ready sets as well as the counters are thread-safe
+ *     <li>artifact nodes' links to their dependents are thread-safe but a {@link ProjectNode#versions() project's
+ *         versions} are <em>not</em>
+ *     <li>recording a result takes several steps (e.g. creating nodes, linking them, and transitioning a task), which
+ *         are not atomic as a whole, so invariants spanning several nodes or tasks can not be guaranteed if the graph
+ *         is mutated concurrently
+ * </ul>
+ * Hence, atomic task transitions alone do not allow workers to record their results directly.
  */
 class AnalysisGraph {
 
@@ -37,11 +58,39 @@ class AnalysisGraph {
 	private final ConcurrentMap<ProjectCoordinates, ProjectNode> projects;
 	private final ConcurrentMap<ArtifactCoordinates, ArtifactNode> artifacts;
 
+	private final TransitionListener transitionListener;
+	private final AtomicInteger unfinishedProjectResolutions;
+	private final AtomicInteger unfinishedArtifactCompletions;
+	private final AtomicInteger projectResolutionsInProgress;
+	private final AtomicInteger downloadsInProgress;
+	private final AtomicInteger analysesInProgress;
+	private final AtomicInteger dependencyResolutionsInProgress;
+
+	private final ReadySet<ProjectNode> projectsToResolve;
+	private final ReadySet<ArtifactNode> artifactsToDownload;
+	private final ReadySet<ArtifactNode> artifactsToAnalyze;
+	private final ReadySet<ArtifactNode> artifactsToResolve;
+	private final ReadySet<ArtifactNode> artifactsToComplete;
+
 	// CREATE
 
 	public AnalysisGraph() {
 		projects = new ConcurrentHashMap<>();
 		artifacts = new ConcurrentHashMap<>();
+
+		transitionListener = new TransitionListener();
+		unfinishedProjectResolutions = new AtomicInteger();
+		unfinishedArtifactCompletions = new AtomicInteger();
+		projectResolutionsInProgress = new AtomicInteger();
+		downloadsInProgress = new AtomicInteger();
+		analysesInProgress = new AtomicInteger();
+		dependencyResolutionsInProgress = new AtomicInteger();
+
+		projectsToResolve = new ReadySet<>();
+		artifactsToDownload = new ReadySet<>();
+		artifactsToAnalyze = new ReadySet<>();
+		artifactsToResolve = new ReadySet<>();
+		artifactsToComplete = new ReadySet<>();
 	}
 
 	// GET & PUT
@@ -53,11 +102,17 @@ class AnalysisGraph {
 	}
 
 	private ArtifactNode createNodeForArtifact(IdentifiesArtifact artifact) {
-		ArtifactNode node = new ArtifactNode(artifact);
-		artifacts.put(artifact.coordinates(), node);
+		ArtifactNode node = new ArtifactNode(artifact, transitionListener);
+		ArtifactNode concurrentlyCreatedNode = artifacts.putIfAbsent(artifact.coordinates(), node);
+		if (concurrentlyCreatedNode != null)
+			return concurrentlyCreatedNode;
+
+		unfinishedArtifactCompletions.incrementAndGet();
 		getOrCreateNodeForProject(artifact.coordinates().project())
 				.versions()
 				.add(node);
+		artifactsToDownload.add(node);
+		artifactsToResolve.add(node);
 		return node;
 	}
 
@@ -73,8 +128,13 @@ class AnalysisGraph {
 	}
 
 	private ProjectNode createNodeForProject(IdentifiesProject project) {
-		ProjectNode node = new ProjectNode(project);
-		projects.put(project.coordinates(), node);
+		ProjectNode node = new ProjectNode(project, transitionListener);
+		ProjectNode concurrentlyCreatedNode = projects.putIfAbsent(project.coordinates(), node);
+		if (concurrentlyCreatedNode != null)
+			return concurrentlyCreatedNode;
+
+		unfinishedProjectResolutions.incrementAndGet();
+		projectsToResolve.add(node);
 		return node;
 	}
 
@@ -83,24 +143,76 @@ class AnalysisGraph {
 				.orElseGet(() -> createNodeForProject(project));
 	}
 
+	// STATISTICS
+
 	public boolean allTasksCompleted() {
-		return Stream
-				.concat(
-						// these are the relevant tasks; if all project versions are resolved
-						// and all artifacts are completed, no more tasks can emerge
-						projectNodes().map(ProjectNode::resolution),
-						artifactNodes().map(ArtifactNode::completion))
-				.allMatch(Task::isFinished);
+		// these are the relevant tasks; if all project versions are resolved
+		// and all artifacts are completed, no more tasks can emerge
+		return unfinishedProjectResolutions.get() == 0 && unfinishedArtifactCompletions.get() == 0;
 	}
 
-	// PROJECTS
+	public int nrOfProjects() {
+		return projects.size();
+	}
 
-	public void addProject(ProjectCoordinates project) {
-		projects.putIfAbsent(project, new ProjectNode(project));
+	public int nrOfUnresolvedProjects() {
+		return unfinishedProjectResolutions.get();
+	}
+
+	public int nrOfArtifacts() {
+		return artifacts.size();
+	}
+
+	public int nrOfUncompletedArtifacts() {
+		return unfinishedArtifactCompletions.get();
+	}
+
+	/**
+	 * @return the number of tasks that were queued or started but did not yet finish
+	 */
+	public int nrOfTasksInProgress() {
+		return projectResolutionsInProgress.get()
+				+ downloadsInProgress.get()
+				+ analysesInProgress.get()
+				+ dependencyResolutionsInProgress.get();
+	}
+
+	public int nrOfProjectResolutionsInProgress() {
+		return projectResolutionsInProgress.get();
 	}
 
-	public Stream<ProjectNode> projectNodes() {
-		return projects.values().stream();
+	public int nrOfDownloadsInProgress() {
+		return downloadsInProgress.get();
+	}
+
+	public int nrOfAnalysesInProgress() {
+		return analysesInProgress.get();
+	}
+
+	public int nrOfDependencyResolutionsInProgress() {
+		return dependencyResolutionsInProgress.get();
+	}
+
+	private static void updateUnfinishedCount(
+			AtomicInteger unfinished, TaskStateIdentifier from, TaskStateIdentifier to) {
+		if (!from.isFinished() && to.isFinished())
+			unfinished.decrementAndGet();
+		else if (from.isFinished() && !to.isFinished())
+			unfinished.incrementAndGet();
+	}
+
+	private static void updateInProgressCount(
+			AtomicInteger inProgress, TaskStateIdentifier from, TaskStateIdentifier to) {
+		if (!from.isInProgress() && to.isInProgress())
+			inProgress.incrementAndGet();
+		else if (from.isInProgress() && !to.isInProgress())
+			inProgress.decrementAndGet();
+	}
+
+	// PROJECTS
+
+	public void addProject(ProjectCoordinates project) {
+		getOrCreateNodeForProject(project);
 	}
 
 	public Task<ImmutableSet<ArtifactCoordinates>> versionResolutionOf(IdentifiesProject project) {
@@ -109,10 +221,6 @@ class AnalysisGraph {
 
 	// ARTIFACT TASKS
 
-	public Stream<ArtifactNode> artifactNodes() {
-		return artifacts.values().stream();
-	}
-
 	public Task<Path> downloadOf(IdentifiesArtifact artifact) {
 		return getOrCreateNodeForArtifact(artifact).download();
 	}
@@ -129,6 +237,111 @@ class AnalysisGraph {
 		return getOrCreateNodeForArtifact(artifact).output();
 	}
 
+	// WORK FRONTIER
+
+	/**
+	 * @return the projects whose versions were not yet resolved; the stream empties the ready set as it is processed
+	 */
+	public Stream<ProjectNode> drainProjectsToResolve() {
+		return projectsToResolve.drain();
+	}
+
+	/**
+	 * @return the artifacts that were not yet downloaded; the stream empties the ready set as it is processed
+	 */
+	public Stream<ArtifactNode> drainArtifactsToDownload() {
+		return artifactsToDownload.drain();
+	}
+
+	/**
+	 * @return the artifacts that were downloaded but not yet analyzed; the stream empties the ready set as it is
+	 * processed
+	 */
+	public Stream<ArtifactNode> drainArtifactsToAnalyze() {
+		return artifactsToAnalyze.drain();
+	}
+
+	/**
+	 * @return the artifacts whose dependees were not yet resolved; the stream empties the ready set as it is processed
+	 */
+	public Stream<ArtifactNode> drainArtifactsToResolve() {
+		return artifactsToResolve.drain();
+	}
+
+	/**
+	 * @return the artifacts whose analysis and resolution are finished and whose dependees are all completed;
+	 * the stream empties the ready set as it is processed and (because it is lazy) also contains artifacts that
+	 * become ready while it is processed
+	 */
+	public Stream<ArtifactNode> drainArtifactsToComplete() {
+		return artifactsToComplete.drain();
+	}
+
+	private void addToArtifactsToCompleteIfReady(ArtifactNode node) {
+		if (readyForCompletion(node))
+			artifactsToComplete.add(node);
+	}
+
+	private static boolean readyForCompletion(ArtifactNode node) {
+		// the analysis is done if it is done (surprise) _or_ if the file could not be downloaded,
+		// because in that case the analysis can not happen at all
+		boolean analysisFinished = node.analysis().isFinished() || node.download().identifier() == FAILED;
+		return analysisFinished
+				&& node.resolution().isFinished()
+				&& !node.completion().isFinished()
+				&& node.allDependeesCompleted();
+	}
+
+	/**
+	 * Updates the work frontier and the counters when tasks of project and artifact nodes change their state.
+	 */
+	private class TransitionListener implements ProjectNodeListener, ArtifactNodeListener {
+
+		@Override
+		public void resolutionTransitioned(ProjectNode node, TaskStateIdentifier from, TaskStateIdentifier to) {
+			updateUnfinishedCount(unfinishedProjectResolutions, from, to);
+			updateInProgressCount(projectResolutionsInProgress, from, to);
+		}
+
+		@Override
+		public void downloadTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to) {
+			updateInProgressCount(downloadsInProgress, from, to);
+			if (to == SUCCEEDED)
+				artifactsToAnalyze.add(node);
+			else if (to == FAILED)
+				addToArtifactsToCompleteIfReady(node);
+		}
+
+		@Override
+		public void analysisTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to) {
+			updateInProgressCount(analysesInProgress, from, to);
+			if (to.isFinished())
+				addToArtifactsToCompleteIfReady(node);
+		}
+
+		@Override
+		public void resolutionTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to) {
+			updateInProgressCount(dependencyResolutionsInProgress, from, to);
+			if (to.isFinished()) {
+				node.dependeesResolved();
+				addToArtifactsToCompleteIfReady(node);
+			}
+		}
+
+		@Override
+		public void completionTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to) {
+			updateUnfinishedCount(unfinishedArtifactCompletions, from, to);
+			if (to.isFinished())
+				node.dependents().forEach(this::dependeeCompleted);
+		}
+
+		private void dependeeCompleted(ArtifactNode dependent) {
+			dependent.dependeeCompleted();
+			addToArtifactsToCompleteIfReady(dependent);
+		}
+
+	}
+
 	/**
 	 * Presents {@link ArtifactCoordinates} instead of {@link ArtifactNode}s.
 	 * <p>
@@ -188,8 +401,8 @@ class AnalysisGraph {
 	 * were resolved.
 	 * <p>
 	 * In addition to the update performed by {@link GraphUpdatingArtifactTask} it will add the node specified
-	 * during construction {@link ArtifactNode#addAsDependent(ArtifactNode) as a dependent} for the newly resolved
-	 * dependees.
+	 * during construction {@link ArtifactNode#addAsDependentTo(java.util.Collection) as a dependent} to the newly
+	 * resolved dependees.
 	 */
 	private class GraphUpdatingArtifactDependeeTask extends GraphUpdatingArtifactTask {
 
@@ -202,7 +415,7 @@ class AnalysisGraph {
 
 		@Override
 		protected void updateGraph(ImmutableSet<ArtifactNode> dependees) {
-			dependees.forEach(dependee -> dependee.addAsDependent(artifactNode));
+			artifactNode.addAsDependentTo(dependees);
 		}
 	}
 
@@ -17,16 +17,21 @@ import org.codefx.jwos.artifact.ResolvedProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Stream.concat;
-import static java.util.stream.Stream.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.codefx.jwos.Util.toImmutableSet;
 import static org.codefx.jwos.analysis.task.TaskStateIdentifier.FAILED;
 import static org.codefx.jwos.analysis.task.TaskStateIdentifier.NOT_COMPUTED;
@@ -40,31 +45,56 @@ import static org.codefx.jwos.analysis.task.TaskStateIdentifier.SUCCEEDED;
  * returned with, e.g., {@link #analyzed(AnalyzedArtifact)} or {@link #analysisFailed(FailedArtifact)}. These methods
  * might block if there is currently no task or the queue of completed tasks is full.
  * <p>
+ * Returning a task wakes up the bookkeeping, which then only looks at the nodes that the {@link AnalysisGraph}'s work
+ * frontier reports as ready for their next task. If nothing happens, the bookkeeping sleeps.
+ * <p>
+ * Sources of projects have to {@link #registerProjectSource() register} before {@link #manageQueues()} is called
+ * and report when they are {@link #projectSourceExhausted() exhausted}. The bookkeeping stops as soon as all sources
+ * are exhausted, no task is in progress, all nodes are completed, and all results were written to the output.
+ * <p>
  * This task manager is thread safe.
  */
 public class AnalysisTaskManager {
 
 	private static final Logger TASKS_LOGGER = LoggerFactory.getLogger("Analysis Tasks");
 	private static final Logger THREAD_LOGGER = LoggerFactory.getLogger("Analysis Thread");
-	private static final String GRAPH_STATUS_MESSAGE_FORMAT = " - %5d %s";
+	private static final String GRAPH_STATUS_MESSAGE_FORMAT = " - %5d %s (%d %s)";
 	private static final String CHANNEL_STATUS_MESSAGE_FORMAT = " - %5d are waiting for %s";
+	private static final String IN_PROGRESS_STATUS_MESSAGE_FORMAT = " - %5d are in progress for %s";
+	/**
+	 * How many answers are drained from a channel in one go; draining continues until a channel has fewer left.
+	 */
+	private static final int MAX_ANSWERS_PER_DRAIN = 256;
 
 	private final AnalysisGraph state;
 	private final AnalysisTaskChannels channels;
 	private final Bookkeeping bookkeeping;
+	private final AtomicInteger activeProjectSources;
+	// only accessed by the bookkeeping; reused for all answers to avoid creating streams and lists on each update
+	private final List<Object> answers;
 
 	private AnalysisTaskManager(AnalysisTaskChannels channels) {
 		this.state = new AnalysisGraph();
 		this.channels = requireNonNull(channels, "The argument 'channels' must not be null.");
+		this.activeProjectSources = new AtomicInteger();
 		this.bookkeeping = new Bookkeeping();
+		this.answers = new ArrayList<>(MAX_ANSWERS_PER_DRAIN);
+	}
+
+	public AnalysisTaskManager(AnalysisPersistence persistence, TaskCapacities capacities) {
+		this(new PersistenceAnalysisTaskChannels(persistence, capacities));
 	}
 
 	public AnalysisTaskManager(AnalysisPersistence persistence) {
-		this(new PersistenceAnalysisTaskChannels(persistence));
+		this(persistence, TaskCapacities.unbounded());
+	}
+
+	public AnalysisTaskManager(TaskCapacities capacities) {
+		this(new SimpleAnalysisTaskChannels(capacities));
 	}
 
 	public AnalysisTaskManager() {
-		this(new SimpleAnalysisTaskChannels());
+		this(TaskCapacities.unbounded());
 	}
 
 	/**
@@ -82,73 +112,93 @@ public class AnalysisTaskManager {
 		bookkeeping.abort();
 	}
 
+	/**
+	 * Registers a source of projects, which has to call {@link #projectSourceExhausted()} once it added its last
+	 * project. As long as a registered source is not exhausted, the bookkeeping does not stop.
+	 */
+	public void registerProjectSource() {
+		activeProjectSources.incrementAndGet();
+	}
+
+	/**
+	 * Informs the task manager that one of the {@link #registerProjectSource() registered} sources of projects will
+	 * not add any more projects.
+	 */
+	public void projectSourceExhausted() {
+		int remainingSources = activeProjectSources.decrementAndGet();
+		if (remainingSources < 0)
+			throw new IllegalStateException("More project sources were exhausted than registered.");
+		bookkeeping.wakeUp();
+	}
+
 	// UPDATE STATE
 
 	/**
-	 * Queues new tasks and processes results and errors by updating {@link #state}.
+	 * Processes results and errors by updating {@link #state} and queues new tasks for the nodes in its work frontier.
 	 */
 	private void updateState() {
-		queueTasks();
 		processAnswers();
+		queueTasks();
 		completeAnalysisAndQueueResults();
 	}
 
 	// - SEND OUT
 
+	/**
+	 * Releases tasks from the work frontier into the channels but only as many as each channel can take;
+	 * the rest remains in the frontier until the next update.
+	 */
 	private void queueTasks() {
-		state.projectNodes().forEach(this::queueTasksForProjectNode);
-		state.artifactNodes()
-				.filter(this::notYetCompleted)
-				.forEach(this::queueTasksForArtifactNode);
-	}
-
-	private boolean notYetCompleted(ArtifactNode node) {
+		state.drainProjectsToResolve()
+				.filter(node -> node.resolution().identifier() == NOT_COMPUTED)
+				.limit(channels.resolveVersions().remainingTaskCapacity())
+				.forEach(node -> queueTaskForProjectNode(node, ProjectNode::resolution, channels.resolveVersions()));
+		state.drainArtifactsToDownload()
+				.filter(node -> notYetCompleted(node) && node.download().identifier() == NOT_COMPUTED)
+				.limit(channels.downloadArtifacts().remainingTaskCapacity())
+				.forEach(node -> queueTaskForArtifactNode(node, ArtifactNode::download, channels.downloadArtifacts()));
+		state.drainArtifactsToAnalyze()
+				.filter(node -> notYetCompleted(node) && readyForAnalysis(node))
+				.limit(channels.analyzeArtifacts().remainingTaskCapacity())
+				.forEach(node -> queueAnalysisTaskForArtifactNode(node, channels.analyzeArtifacts()));
+		state.drainArtifactsToResolve()
+				.filter(node -> notYetCompleted(node) && node.resolution().identifier() == NOT_COMPUTED)
+				.limit(channels.resolveDependencies().remainingTaskCapacity())
+				.forEach(node -> queueTaskForArtifactNode(
+						node, ArtifactNode::resolution, channels.resolveDependencies()));
+	}
+
+	private static boolean notYetCompleted(ArtifactNode node) {
 		return !node.completion().isFinished();
 	}
 
-	private void queueTasksForProjectNode(ProjectNode node) {
-		queueTaskForProjectNode(node, ProjectNode::resolution, channels.resolveVersions());
+	private static boolean readyForAnalysis(ArtifactNode node) {
+		return node.download().identifier() == SUCCEEDED && node.analysis().identifier() == NOT_COMPUTED;
 	}
 
 	private static void queueTaskForProjectNode(
 			ProjectNode node,
 			Function<ProjectNode, Task<?>> getTask,
 			TaskChannel<ProjectCoordinates, ?, ?> channel) {
-		Task<?> task = getTask.apply(node);
-		if (task.identifier() == NOT_COMPUTED) {
-			TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
-			task.queued();
-			channel.sendTask(node.coordinates());
-		}
-	}
-
-	private void queueTasksForArtifactNode(ArtifactNode node) {
-		queueTaskForArtifactNode(node, ArtifactNode::download, channels.downloadArtifacts());
-		queueAnalysisTaskForArtifactNode(node, channels.analyzeArtifacts());
-		queueTaskForArtifactNode(node, ArtifactNode::resolution, channels.resolveDependencies());
+		TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
+		getTask.apply(node).queued();
+		channel.sendTask(node.coordinates());
 	}
 
 	private static void queueTaskForArtifactNode(
 			ArtifactNode node,
 			Function<ArtifactNode, Task<?>> getTask,
 			TaskChannel<ArtifactCoordinates, ?, ?> channel) {
-		Task<?> task = getTask.apply(node);
-		if (task.identifier() == NOT_COMPUTED) {
-			TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
-			task.queued();
-			channel.sendTask(node.coordinates());
-		}
+		TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
+		getTask.apply(node).queued();
+		channel.sendTask(node.coordinates());
 	}
 
 	private static void queueAnalysisTaskForArtifactNode(
 			ArtifactNode node, TaskChannel<DownloadedArtifact, AnalyzedArtifact, FailedArtifact> channel) {
-		Task<Path> downloadTask = node.download();
-		Task<?> analysisTask = node.analysis();
-		if (downloadTask.identifier() == SUCCEEDED && analysisTask.identifier() == NOT_COMPUTED) {
-			TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
-			analysisTask.queued();
-			channel.sendTask(new DownloadedArtifact(node.coordinates(), downloadTask.result()));
-		}
+		TASKS_LOGGER.debug("Queuing {} for {}.", node.coordinates(), channel.taskName());
+		node.analysis().queued();
+		channel.sendTask(new DownloadedArtifact(node.coordinates(), node.download().result()));
 	}
 
 	// - RECEIVE
@@ -162,8 +212,8 @@ public class AnalysisTaskManager {
 	}
 
 	private void processAnswersFromNewProjects() {
-		channels.addProjects().drainResults().forEach(this::processSuccessOfProjectDiscovery);
-		channels.addProjects().drainErrors().forEach(this::processFailureOfProjectDiscovery);
+		drainAnswers(channels.addProjects()::drainResultsTo, this::processSuccessOfProjectDiscovery);
+		drainAnswers(channels.addProjects()::drainErrorsTo, this::processFailureOfProjectDiscovery);
 	}
 
 	private void processSuccessOfProjectDiscovery(ProjectCoordinates project) {
@@ -176,8 +226,8 @@ public class AnalysisTaskManager {
 	}
 
 	private void processAnswersFromResolvedProjects() {
-		channels.resolveVersions().drainResults().forEach(this::processSuccessOfVersionResolution);
-		channels.resolveVersions().drainErrors().forEach(this::processFailureOfVersionResolution);
+		drainAnswers(channels.resolveVersions()::drainResultsTo, this::processSuccessOfVersionResolution);
+		drainAnswers(channels.resolveVersions()::drainErrorsTo, this::processFailureOfVersionResolution);
 	}
 
 	private void processSuccessOfVersionResolution(ResolvedProject project) {
@@ -190,11 +240,34 @@ public class AnalysisTaskManager {
 		state.versionResolutionOf(project).failed(project.error());
 	}
 
-	private static <R> void processAnswersFromChannel(
+	private <R> void processAnswersFromChannel(
 			TaskChannel<?, ? extends IdentifiesArtifactTask<R>, FailedArtifact> channel,
 			Function<IdentifiesArtifact, Task<R>> getTask) {
-		channel.drainResults().forEach(artifact -> processSuccessOfTask(artifact, getTask, channel.taskName()));
-		channel.drainErrors().forEach(artifact -> processFailureOfTask(artifact, getTask, channel.taskName()));
+		drainAnswers(
+				channel::drainResultsTo,
+				(IdentifiesArtifactTask<R> artifact) -> processSuccessOfTask(artifact, getTask, channel.taskName()));
+		drainAnswers(
+				channel::drainErrorsTo,
+				(FailedArtifact artifact) -> processFailureOfTask(artifact, getTask, channel.taskName()));
+	}
+
+	/**
+	 * Drains answers into the reused {@link #answers} buffer and processes them until fewer than
+	 * {@link #MAX_ANSWERS_PER_DRAIN} were drained.
+	 */
+	@SuppressWarnings("unchecked")
+	private <A> void drainAnswers(DrainTo<A> drain, Consumer<? super A> process) {
+		// the buffer is empty and only ever contains elements drained by 'drain', so it is safe to treat as 'List<A>'
+		List<A> buffer = (List<A>) answers;
+		int drained;
+		do {
+			drained = drain.drainTo(buffer, MAX_ANSWERS_PER_DRAIN);
+			try {
+				buffer.forEach(process);
+			} finally {
+				buffer.clear();
+			}
+		} while (drained == MAX_ANSWERS_PER_DRAIN);
 	}
 
 	private static <R> void processSuccessOfTask(
@@ -216,42 +289,18 @@ public class AnalysisTaskManager {
 	// - OUTPUT FINISHED
 
 	private void completeAnalysisAndQueueResults() {
-		completeAnalysisRecursively(state.artifactNodes())
+		// completing a node can make its dependents ready for completion; because the stream is lazy,
+		// they will be drained (and completed) by this very call
+		state.drainArtifactsToComplete()
+				.filter(AnalysisTaskManager::notYetCompleted)
+				.map(AnalysisTaskManager::completeNodeAndStoreResult)
 				.forEach(channels.outputResults()::sendTask);
 	}
 
-	private static Stream<CompletedArtifact> completeAnalysisRecursively(Stream<ArtifactNode> nodes) {
-		return nodes
-				.filter(AnalysisTaskManager::readyForCompletion)
-				.flatMap(AnalysisTaskManager::completeNodeAndRecurseToDependents);
-	}
-
-	private static boolean readyForCompletion(ArtifactNode node) {
-		// the analysis is done if it is done (surprise) _or_ if the file could not be downloaded,
-		// because in that case the analysis can not happen at all
-		boolean analysisFinished = node.analysis().isFinished() || node.download().identifier() == FAILED;
-		return analysisFinished
-				&& node.resolution().isFinished()
-				&& !node.completion().isFinished()
-				&& allDependeesCompleted(node);
-	}
-
-	private static boolean allDependeesCompleted(ArtifactNode node) {
-		return node.resolution().identifier() == FAILED
-				|| node
-					.resolution()
-					.result().stream()
-					.allMatch(dependee -> dependee.completion().isFinished());
-	}
-
-	private static Stream<CompletedArtifact> completeNodeAndRecurseToDependents(ArtifactNode node) {
+	private static CompletedArtifact completeNodeAndStoreResult(ArtifactNode node) {
 		CompletedArtifact completedArtifact = completeNode(node);
 		node.completion().succeeded(completedArtifact);
-
-		return concat(
-				of(completedArtifact),
-				completeAnalysisRecursively(node.dependents())
-		);
+		return completedArtifact;
 	}
 
 	private static CompletedArtifact completeNode(ArtifactNode node) {
@@ -305,6 +354,19 @@ public class AnalysisTaskManager {
 		return task;
 	}
 
+	private static <T extends IdentifiesArtifact> List<T> getArtifactTasksAndStart(
+			TaskChannel<T, ?, ?> channel,
+			Function<T, Task<?>> getTask,
+			int maxTasks)
+			throws InterruptedException {
+		List<T> tasks = channel.getTasks(maxTasks);
+		for (T task : tasks) {
+			TASKS_LOGGER.debug("Starting {} for {}.", channel.taskName(), task.coordinates());
+			getTask.apply(task).started();
+		}
+		return tasks;
+	}
+
 	private static <T extends IdentifiesArtifact> T getArtifactTaskAndStart(
 			TaskChannel<T, ?, ?> channel,
 			Function<T, Task<?>> getTask)
@@ -314,10 +376,12 @@ public class AnalysisTaskManager {
 
 	public void addProject(ProjectCoordinates project) throws InterruptedException {
 		channels.addProjects().sendResult(project);
+		bookkeeping.wakeUp();
 	}
 
 	public void findingProjectFailed(Exception error) throws InterruptedException {
 		channels.addProjects().sendError(error);
+		bookkeeping.wakeUp();
 	}
 
 	public ProjectCoordinates getNextToResolveVersions() throws InterruptedException {
@@ -327,11 +391,13 @@ public class AnalysisTaskManager {
 	public void resolvedVersions(ResolvedProject project) throws InterruptedException {
 		TASKS_LOGGER.debug("Version resolution for {} succeeded: {}", project.coordinates(), project.versions());
 		channels.resolveVersions().sendResult(project);
+		bookkeeping.wakeUp();
 	}
 
 	public void versionResolutionFailed(FailedProject project) throws InterruptedException {
 		TASKS_LOGGER.warn("Version resolution for {} failed: {}", project.coordinates(), project.error().toString());
 		channels.resolveVersions().sendError(project);
+		bookkeeping.wakeUp();
 	}
 
 	public ArtifactCoordinates getNextToDownload() throws InterruptedException {
@@ -341,25 +407,36 @@ public class AnalysisTaskManager {
 	public void downloaded(DownloadedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER.debug("Download for {} succeeded: {}", artifact.coordinates(), artifact.path());
 		channels.downloadArtifacts().sendResult(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public void downloadFailed(FailedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER.warn("Download for {} failed: {}", artifact.coordinates(), artifact.error().toString());
 		channels.downloadArtifacts().sendError(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public DownloadedArtifact getNextToAnalyze() throws InterruptedException {
 		return getArtifactTaskAndStart(channels.analyzeArtifacts(), state::analysisOf);
 	}
 
+	/**
+	 * Blocks until at least one artifact is ready to be analyzed and then returns up to the specified number.
+	 */
+	public List<DownloadedArtifact> getNextToAnalyze(int maxArtifacts) throws InterruptedException {
+		return getArtifactTasksAndStart(channels.analyzeArtifacts(), state::analysisOf, maxArtifacts);
+	}
+
 	public void analyzed(AnalyzedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER.debug("Analysis for {} succeeded: {}", artifact.coordinates(), artifact.violations());
 		channels.analyzeArtifacts().sendResult(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public void analysisFailed(FailedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER.warn("Analysis for {} failed: {}", artifact.coordinates(), artifact.error().toString());
 		channels.analyzeArtifacts().sendError(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public ArtifactCoordinates getNextToResolveDependencies() throws InterruptedException {
@@ -369,37 +446,51 @@ public class AnalysisTaskManager {
 	public void resolvedDependencies(ResolvedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER.debug("Dependency resolution for {} succeeded: {}", artifact.coordinates(), artifact.dependees());
 		channels.resolveDependencies().sendResult(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public void dependencyResolutionFailed(FailedArtifact artifact) throws InterruptedException {
 		TASKS_LOGGER
 				.warn("Dependency resolution for {} failed: {}", artifact.coordinates(), artifact.error().toString());
 		channels.resolveDependencies().sendError(artifact);
+		bookkeeping.wakeUp();
 	}
 
 	public CompletedArtifact getNextToOutput() throws InterruptedException {
 		return getArtifactTaskAndStart(channels.outputResults(), state::outputOf);
 	}
 
+	public int nrOfWaitingVersionResolutions() {
+		return channels.resolveVersions().nrOfWaitingTasks();
+	}
+
+	public int nrOfWaitingDownloads() {
+		return channels.downloadArtifacts().nrOfWaitingTasks();
+	}
+
+	public int nrOfWaitingAnalyses() {
+		return channels.analyzeArtifacts().nrOfWaitingTasks();
+	}
+
+	public int nrOfWaitingDependencyResolutions() {
+		return channels.resolveDependencies().nrOfWaitingTasks();
+	}
+
 	/**
-	 * Calls {@link #updateState()} and logs graph and queue sizes.
+	 * Calls {@link #updateState()} whenever results or errors were returned and logs graph and queue sizes.
 	 */
 	private class Bookkeeping {
 
-		private static final int QUEUE_SIZE_LOG_INTERVAL = 20;
-		private static final long SLEEP_TIME_IN_MS = 50;
-		/**
-		 * Time until completion is checked for the first time. Without this, computation threads might not have enough
-		 * time to add something to the channels and completion is reported because nothing happened yet.
-		 */
-		private static final long MORATORIUM_UNTIL_FIRST_COMPLETION_CHECK_IN_MS = 5000;
+		private static final long CHECKPOINT_INTERVAL_IN_MS = 1000;
+
+		private final Lock wakeUpLock = new ReentrantLock();
+		private final Condition wokenUp = wakeUpLock.newCondition();
+		private boolean wakeUpPending;
 
-		private LocalDateTime startTime;
-		private boolean moratoriumExpired;
-		private int runsToCheckpoint;
+		private LocalDateTime lastCheckpoint;
 
 		private boolean running;
-		private boolean aborted;
+		private volatile boolean aborted;
 
 		/**
 		 * Executes bookkeeping; does not return so it should be called in a separate thread.
@@ -408,11 +499,18 @@ public class AnalysisTaskManager {
 			startRunning();
 			THREAD_LOGGER.info("Start managing queues.");
 
+			// the channels might replay answers, so the state has to be updated without waiting to be woken up
+			boolean wokenUp = true;
 			while (!aborted) {
-				updateState();
-				updatePersistence();
+				// read this before updating the state so that the last projects the sources sent are processed
+				boolean sourcesExhausted = activeProjectSources.get() == 0;
+				if (wokenUp) {
+					updateState();
+					updatePersistence();
+				}
 				maybeVisitCheckpoint();
-				sleepAndAbortWhenInterrupted();
+				checkWhetherToAbort(sourcesExhausted);
+				wokenUp = awaitWakeUpAndAbortWhenInterrupted();
 			}
 
 			stopRunning();
@@ -423,23 +521,25 @@ public class AnalysisTaskManager {
 			if (running)
 				throw new IllegalStateException("The bookkeeping thread is already running.");
 			running = true;
-			runsToCheckpoint = 0;
-			startTime = LocalDateTime.now();
+			lastCheckpoint = null;
 		}
 
 		private void maybeVisitCheckpoint() {
-			runsToCheckpoint--;
-			if (runsToCheckpoint <= 0) {
+			if (lastCheckpoint == null || millisSince(lastCheckpoint) >= CHECKPOINT_INTERVAL_IN_MS) {
 				logGraphAndQueueSizes();
-				checkWhetherToAbort();
-				runsToCheckpoint = QUEUE_SIZE_LOG_INTERVAL;
+				lastCheckpoint = LocalDateTime.now();
 			}
 		}
 
 		private void logGraphAndQueueSizes() {
 			String message = "\nNodes:\n"
-					+ logGraphSize(state.projectNodes(), "projects")
-					+ logGraphSize(state.artifactNodes(), "artifacts")
+					+ logGraphSize(state.nrOfProjects(), "projects", state.nrOfUnresolvedProjects(), "unresolved")
+					+ logGraphSize(state.nrOfArtifacts(), "artifacts", state.nrOfUncompletedArtifacts(), "uncompleted")
+					+ "Tasks in progress:\n"
+					+ logInProgress(state.nrOfProjectResolutionsInProgress(), channels.resolveVersions())
+					+ logInProgress(state.nrOfDownloadsInProgress(), channels.downloadArtifacts())
+					+ logInProgress(state.nrOfAnalysesInProgress(), channels.analyzeArtifacts())
+					+ logInProgress(state.nrOfDependencyResolutionsInProgress(), channels.resolveDependencies())
 					+ "Waiting tasks:\n"
 					+ logQueueSize(channels.addProjects())
 					+ logQueueSize(channels.resolveVersions())
@@ -450,41 +550,74 @@ public class AnalysisTaskManager {
 			THREAD_LOGGER.info(message);
 		}
 
-		private String logGraphSize(Stream<?> nodes, String graphName) {
-			return format(GRAPH_STATUS_MESSAGE_FORMAT, nodes.count(), graphName) + "\n";
+		private String logGraphSize(int nrOfNodes, String graphName, int nrOfOpenNodes, String openState) {
+			return format(GRAPH_STATUS_MESSAGE_FORMAT, nrOfNodes, graphName, nrOfOpenNodes, openState) + "\n";
 		}
 
 		private String logQueueSize(TaskChannel<?, ?, ?> channel) {
 			return format(CHANNEL_STATUS_MESSAGE_FORMAT, channel.nrOfWaitingTasks(), channel.taskName()) + "\n";
 		}
 
-		private void checkWhetherToAbort() {
-			if (!isMoratoriumExpired())
-				return;
+		private String logInProgress(int nrOfTasks, TaskChannel<?, ?, ?> channel) {
+			return format(IN_PROGRESS_STATUS_MESSAGE_FORMAT, nrOfTasks, channel.taskName()) + "\n";
+		}
 
-			boolean allTasksCompletedAndWrittenToOutput =
-					state.allTasksCompleted() && channels.outputResults().noWaitingTasks();
-			if (allTasksCompletedAndWrittenToOutput)
+		/**
+		 * Aborts if the analysis is quiescent, i.e. no source can add new projects, no task is queued or computed,
+		 * all nodes are completed, and all results were written to the output.
+		 * <p>
+		 * All checks are constant time operations, so this can be called after each update.
+		 */
+		private void checkWhetherToAbort(boolean sourcesExhausted) {
+			boolean quiescent = sourcesExhausted
+					&& state.nrOfTasksInProgress() == 0
+					&& state.allTasksCompleted()
+					&& channels.outputResults().noWaitingTasks();
+			if (quiescent) {
+				THREAD_LOGGER.info("All sources are exhausted and all tasks are completed.");
 				aborted = true;
+			}
 		}
 
-		private boolean isMoratoriumExpired() {
-			if (!moratoriumExpired) {
-				long millisSinceStart = ChronoUnit.MILLIS.between(startTime, LocalDateTime.now());
-				if (millisSinceStart > MORATORIUM_UNTIL_FIRST_COMPLETION_CHECK_IN_MS)
-					moratoriumExpired = true;
+		private long millisSince(LocalDateTime time) {
+			return ChronoUnit.MILLIS.between(time, LocalDateTime.now());
+		}
+
+		/**
+		 * Informs the bookkeeping that new answers arrived, which wakes it up if it is waiting.
+		 */
+		public void wakeUp() {
+			wakeUpLock.lock();
+			try {
+				wakeUpPending = true;
+				wokenUp.signal();
+			} finally {
+				wakeUpLock.unlock();
 			}
-			return moratoriumExpired;
 		}
 
-		private void sleepAndAbortWhenInterrupted() {
-			THREAD_LOGGER.debug("Done. Sleeping for a while...");
+		/**
+		 * Waits until {@link #wakeUp() woken up} or until the next checkpoint is due.
+		 *
+		 * @return true if the bookkeeping was woken up; false if the wait timed out or was interrupted
+		 */
+		private boolean awaitWakeUpAndAbortWhenInterrupted() {
+			THREAD_LOGGER.debug("Done. Waiting for answers...");
+			wakeUpLock.lock();
 			try {
-				Thread.sleep(SLEEP_TIME_IN_MS);
+				long nanosToWait = MILLISECONDS.toNanos(CHECKPOINT_INTERVAL_IN_MS);
+				while (!wakeUpPending && !aborted && nanosToWait > 0)
+					nanosToWait = wokenUp.awaitNanos(nanosToWait);
+				boolean wokeUp = wakeUpPending;
+				wakeUpPending = false;
+				return wokeUp;
 			} catch (InterruptedException ex) {
 				THREAD_LOGGER.warn("Who woke me? Stopping queue management...");
 				Thread.currentThread().interrupt();
 				aborted = true;
+				return false;
+			} finally {
+				wakeUpLock.unlock();
 			}
 		}
 
@@ -496,8 +629,19 @@ public class AnalysisTaskManager {
 		public void abort() {
 			THREAD_LOGGER.info("Stopping queue management...");
 			aborted = true;
+			wakeUp();
 		}
 
 	}
 
+	/**
+	 * A channel's {@code drainResultsTo} or {@code drainErrorsTo}.
+	 */
+	@FunctionalInterface
+	private interface DrainTo<A> {
+
+		int drainTo(Collection<A> answers, int maxAnswers);
+
+	}
+
 }
@@ -8,9 +8,11 @@ import org.codefx.jwos.artifact.IdentifiesArtifact;
 import org.codefx.jwos.jdeps.dependency.Violation;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -21,6 +23,11 @@ class ArtifactNode implements IdentifiesArtifact {
 
 	private final ArtifactCoordinates artifact;
 	private final Set<ArtifactNode> dependents;
+	/*
+	 * Counts the dependees that were not yet completed. As long as the dependees were not resolved, the counter is
+	 * one higher, so it can only reach zero once the dependees are known and all of them are completed.
+	 */
+	private final AtomicInteger pendingDependees;
 
 	private final Task<Path> download;
 	private final Task<ImmutableSet<Violation>> analysis;
@@ -28,14 +35,16 @@ class ArtifactNode implements IdentifiesArtifact {
 	private final Task<CompletedArtifact> completion;
 	private final Task<Void> output;
 
-	public ArtifactNode(IdentifiesArtifact artifact) {
+	public ArtifactNode(IdentifiesArtifact artifact, ArtifactNodeListener listener) {
 		this.artifact = requireNonNull(artifact, "The argument 'artifact' must not be null.").coordinates();
+		requireNonNull(listener, "The argument 'listener' must not be null.");
 		this.dependents = new HashSet<>();
+		this.pendingDependees = new AtomicInteger(1);
 
-		download = new Task<>();
-		analysis = new Task<>();
-		resolutionOfDependees = new Task<>();
-		completion = new Task<>();
+		download = new Task<>((from, to) -> listener.downloadTransitioned(this, from, to));
+		analysis = new Task<>((from, to) -> listener.analysisTransitioned(this, from, to));
+		resolutionOfDependees = new Task<>((from, to) -> listener.resolutionTransitioned(this, from, to));
+		completion = new Task<>((from, to) -> listener.completionTransitioned(this, from, to));
 		output = new Task<>();
 	}
 
@@ -44,12 +53,58 @@ class ArtifactNode implements IdentifiesArtifact {
 		return artifact;
 	}
 
-	public void addAsDependent(ArtifactNode dependent) {
-		dependents.add(dependent);
+	/**
+	 * Adds the specified node as a dependent unless this node is already completed.
+	 *
+	 * @return true if the dependent was added (and will thus be {@link #dependeeCompleted() informed} when this
+	 * node is completed); false if it was already added before or this node is already completed
+	 */
+	private synchronized boolean addAsDependent(ArtifactNode dependent) {
+		return !completion.isFinished() && dependents.add(dependent);
 	}
 
-	public Stream<ArtifactNode> dependents() {
-		return dependents.stream();
+	/**
+	 * @return a snapshot of this node's dependents
+	 */
+	public synchronized Stream<ArtifactNode> dependents() {
+		return ImmutableSet.copyOf(dependents).stream();
+	}
+
+	/**
+	 * Adds this node as a dependent to the specified dependees and counts those that are not yet completed.
+	 * <p>
+	 * Must be called before the {@link #resolution() resolution} succeeds.
+	 */
+	public void addAsDependentTo(Collection<ArtifactNode> dependees) {
+		for (ArtifactNode dependee : dependees) {
+			// increment first, so a concurrent completion of the dependee can not let the counter drop to zero
+			pendingDependees.incrementAndGet();
+			boolean dependeeWillInformThisNode = dependee.addAsDependent(this);
+			if (!dependeeWillInformThisNode)
+				pendingDependees.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Informs this node that its dependees are known (or can not be determined) and that it no longer needs to
+	 * wait for them to be resolved.
+	 */
+	public void dependeesResolved() {
+		pendingDependees.decrementAndGet();
+	}
+
+	/**
+	 * Informs this node that one of its dependees was completed.
+	 */
+	public void dependeeCompleted() {
+		pendingDependees.decrementAndGet();
+	}
+
+	/**
+	 * @return true if the dependees were resolved and all of them are completed
+	 */
+	public boolean allDependeesCompleted() {
+		return pendingDependees.get() == 0;
 	}
 
 	public Task<Path> download() {
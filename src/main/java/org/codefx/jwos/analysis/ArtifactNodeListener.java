@@ -0,0 +1,18 @@
+package org.codefx.jwos.analysis;
+
+import org.codefx.jwos.analysis.task.TaskStateIdentifier;
+
+/**
+ * Is informed when one of an {@link ArtifactNode}'s tasks transitions from one state to another.
+ */
+interface ArtifactNodeListener {
+
+	void downloadTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to);
+
+	void analysisTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to);
+
+	void resolutionTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to);
+
+	void completionTransitioned(ArtifactNode node, TaskStateIdentifier from, TaskStateIdentifier to);
+
+}
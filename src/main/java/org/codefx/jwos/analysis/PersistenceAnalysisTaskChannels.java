@@ -37,7 +37,7 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 	private final TaskChannel<ArtifactCoordinates, ResolvedArtifact, FailedArtifact> resolveDependenciesSpy;
 	private final TaskChannel<CompletedArtifact, Void, Void> outputResultsSpy;
 
-	public PersistenceAnalysisTaskChannels(AnalysisPersistence persistence) {
+	public PersistenceAnalysisTaskChannels(AnalysisPersistence persistence, TaskCapacities capacities) {
 		this.persistence = requireNonNull(persistence, "The argument 'persistence' must not be null.");
 
 		addProjectsSpy = TaskChannel.namedAndUnbounded("spying on add project");
@@ -48,7 +48,8 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 
 		resolveVersionsSpy = TaskChannel.namedAndUnbounded("spying on version resolution");
 		resolveVersions = TaskChannel
-				.<ProjectCoordinates, ResolvedProject, FailedProject>namedAndUnbounded("version resolution")
+				.<ProjectCoordinates, ResolvedProject, FailedProject>namedWithTaskCapacity(
+						"version resolution", capacities.versionResolutions())
 				.spy(resolveVersionsSpy)
 				.replaying(
 						Flags.REPLAY_VERSION_RESOLUTION ? persistence.resolvedProjectsUnmodifiable() : emptySet(),
@@ -58,7 +59,8 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 
 		downloadArtifactsSpy = TaskChannel.namedAndUnbounded("download");
 		downloadArtifacts = TaskChannel
-				.<ArtifactCoordinates, DownloadedArtifact, FailedArtifact>namedAndUnbounded("download")
+				.<ArtifactCoordinates, DownloadedArtifact, FailedArtifact>namedWithTaskCapacity(
+						"download", capacities.downloads())
 				.spy(downloadArtifactsSpy)
 				.replaying(
 						Flags.REPLAY_DOWNLOADS ? persistence.downloadedArtifactsUnmodifiable() : emptySet(),
@@ -67,7 +69,8 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 
 		analyzeArtifactsSpy = TaskChannel.namedAndUnbounded("spying on analysis");
 		analyzeArtifacts = TaskChannel
-				.<DownloadedArtifact, AnalyzedArtifact, FailedArtifact>namedAndUnbounded("analysis")
+				.<DownloadedArtifact, AnalyzedArtifact, FailedArtifact>namedWithTaskCapacity(
+						"analysis", capacities.analyses())
 				.spy(analyzeArtifactsSpy)
 				.replaying(
 						Flags.REPLAY_ANALYSIS ? persistence.analyzedArtifactsUnmodifiable() : emptySet(),
@@ -75,7 +78,8 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 
 		resolveDependenciesSpy = TaskChannel.namedAndUnbounded("spying on dependency resolution");
 		resolveDependencies = TaskChannel
-				.<ArtifactCoordinates, ResolvedArtifact, FailedArtifact>namedAndUnbounded("dependency resolution")
+				.<ArtifactCoordinates, ResolvedArtifact, FailedArtifact>namedWithTaskCapacity(
+						"dependency resolution", capacities.dependencyResolutions())
 				.spy(resolveDependenciesSpy)
 				.replaying(
 						Flags.REPLAY_DEPENDENCY_RESOLUTION ? persistence.resolvedArtifactsUnmodifiable() : emptySet(),
@@ -94,8 +98,17 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 	/**
 	 * Updates the {@link AnalysisPersistence} specified during construction with the messages that were sent
 	 * on various channels since this method was last called.
+	 * <p>
+	 * The spies also receive a copy of each task. Except for the output, tasks are not persisted, so they are discarded
+	 * here; otherwise the unbounded spies would keep every task that was ever released.
 	 */
 	public void updatePersistence() {
+		discardTasks(addProjectsSpy);
+		discardTasks(resolveVersionsSpy);
+		discardTasks(downloadArtifactsSpy);
+		discardTasks(analyzeArtifactsSpy);
+		discardTasks(resolveDependenciesSpy);
+
 		addProjectsSpy.drainResults().forEach(persistence::addProject);
 		resolveVersionsSpy.drainResults().forEach(persistence::addResolvedProject);
 		resolveVersionsSpy.drainErrors().forEach(persistence::addProjectResolutionError);
@@ -110,6 +123,10 @@ class PersistenceAnalysisTaskChannels implements AnalysisTaskChannels {
 		outputResultsSpy.drainTasks().forEach(persistence::addResult);
 	}
 
+	private static void discardTasks(TaskChannel<?, ?, ?> spy) {
+		spy.drainTasks().forEach(task -> { });
+	}
+
 	// IMPLEMENTATION OF 'AnalysisTaskChannels'
 
 	@Override
@@ -29,11 +29,12 @@ class ProjectNode implements IdentifiesProject {
 	private final Set<ArtifactNode> versions;
 	private final Task<ImmutableSet<ArtifactNode>> resolutionOfVersions;
 
-	public ProjectNode(IdentifiesProject project) {
+	public ProjectNode(IdentifiesProject project, ProjectNodeListener listener) {
 		this.project = requireNonNull(project, "The argument 'project' must not be null.").coordinates();
+		requireNonNull(listener, "The argument 'listener' must not be null.");
 		this.versions = new HashSet<>();
 
-		resolutionOfVersions = new Task<>();
+		resolutionOfVersions = new Task<>((from, to) -> listener.resolutionTransitioned(this, from, to));
 	}
 
 	@Override
@@ -0,0 +1,12 @@
+package org.codefx.jwos.analysis;
+
+import org.codefx.jwos.analysis.task.TaskStateIdentifier;
+
+/**
+ * Is informed when a {@link ProjectNode}'s task transitions from one state to another.
+ */
+interface ProjectNodeListener {
+
+	void resolutionTransitioned(ProjectNode node, TaskStateIdentifier from, TaskStateIdentifier to);
+
+}
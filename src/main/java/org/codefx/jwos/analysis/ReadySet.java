@@ -0,0 +1,64 @@
+package org.codefx.jwos.analysis;
+
+import com.google.common.collect.AbstractIterator;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * A set of elements that are ready for the next step of their processing.
+ * <p>
+ * Elements are drained in the order in which they were added. Adding an element that was already added but not yet
+ * drained has no effect; once it was drained it can be added again.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E> the type of elements
+ */
+class ReadySet<E> {
+
+	private final Set<E> elements;
+	private final Queue<E> order;
+
+	public ReadySet() {
+		elements = ConcurrentHashMap.newKeySet();
+		order = new ConcurrentLinkedQueue<>();
+	}
+
+	public void add(E element) {
+		if (elements.add(element))
+			order.add(element);
+	}
+
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Returns a stream that removes elements from this set as it processes them.
+	 * <p>
+	 * The stream is lazy, so elements that are added while the stream is processed will also be drained.
+	 */
+	public Stream<E> drain() {
+		Iterator<E> draining = new AbstractIterator<E>() {
+			@Override
+			protected E computeNext() {
+				E element = order.poll();
+				if (element == null)
+					return endOfData();
+				elements.remove(element);
+				return element;
+			}
+		};
+		return stream(spliteratorUnknownSize(draining, NONNULL), false);
+	}
+
+}
@@ -12,7 +12,7 @@ import org.codefx.jwos.artifact.ResolvedArtifact;
 import org.codefx.jwos.artifact.ResolvedProject;
 
 /**
- * A basic collection of task channels that do nothing fancy.
+ * A basic collection of task channels that do nothing fancy (except bounding the number of waiting tasks).
  */
 class SimpleAnalysisTaskChannels implements AnalysisTaskChannels {
 
@@ -23,12 +23,13 @@ class SimpleAnalysisTaskChannels implements AnalysisTaskChannels {
 	private final TaskChannel<ArtifactCoordinates, ResolvedArtifact, FailedArtifact> resolveDependencies;
 	private final TaskChannel<CompletedArtifact, Void, Void> outputResults;
 
-	public SimpleAnalysisTaskChannels() {
+	public SimpleAnalysisTaskChannels(TaskCapacities capacities) {
 		addProjects = TaskChannel.namedAndUnbounded("add project");
-		resolveVersions = TaskChannel.namedAndUnbounded("version resolution");
-		downloadArtifacts = TaskChannel.namedAndUnbounded("download");
-		analyzeArtifacts = TaskChannel.namedAndUnbounded("analysis");
-		resolveDependencies = TaskChannel.namedAndUnbounded("dependency resolution");
+		resolveVersions = TaskChannel.namedWithTaskCapacity("version resolution", capacities.versionResolutions());
+		downloadArtifacts = TaskChannel.namedWithTaskCapacity("download", capacities.downloads());
+		analyzeArtifacts = TaskChannel.namedWithTaskCapacity("analysis", capacities.analyses());
+		resolveDependencies = TaskChannel.namedWithTaskCapacity(
+				"dependency resolution", capacities.dependencyResolutions());
 		outputResults = TaskChannel.namedAndUnbounded("output");
 	}
 
@@ -0,0 +1,51 @@
+package org.codefx.jwos.analysis;
+
+/**
+ * The number of tasks that can wait in each of the {@link AnalysisTaskManager}'s channels.
+ * <p>
+ * The task manager only releases work into a channel if it has capacity; the rest remains in the
+ * {@link AnalysisGraph}'s work frontier. A capacity of 0 means unbounded.
+ */
+public class TaskCapacities {
+
+	private static final TaskCapacities UNBOUNDED = new TaskCapacities(0, 0, 0, 0);
+
+	private final int versionResolutions;
+	private final int downloads;
+	private final int analyses;
+	private final int dependencyResolutions;
+
+	public TaskCapacities(int versionResolutions, int downloads, int analyses, int dependencyResolutions) {
+		this.versionResolutions = requireNotNegative(versionResolutions, "versionResolutions");
+		this.downloads = requireNotNegative(downloads, "downloads");
+		this.analyses = requireNotNegative(analyses, "analyses");
+		this.dependencyResolutions = requireNotNegative(dependencyResolutions, "dependencyResolutions");
+	}
+
+	public static TaskCapacities unbounded() {
+		return UNBOUNDED;
+	}
+
+	private static int requireNotNegative(int capacity, String argumentName) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("The argument '" + argumentName + "' must not be negative.");
+		return capacity;
+	}
+
+	public int versionResolutions() {
+		return versionResolutions;
+	}
+
+	public int downloads() {
+		return downloads;
+	}
+
+	public int analyses() {
+		return analyses;
+	}
+
+	public int dependencyResolutions() {
+		return dependencyResolutions;
+	}
+
+}
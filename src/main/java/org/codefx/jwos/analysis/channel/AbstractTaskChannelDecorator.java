@@ -1,5 +1,7 @@
 package org.codefx.jwos.analysis.channel;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -23,6 +25,11 @@ abstract class AbstractTaskChannelDecorator<T, R, E> implements TaskChannel<T, R
 		return decoratedChannel.noWaitingTasks();
 	}
 
+	@Override
+	public int remainingTaskCapacity() {
+		return decoratedChannel.remainingTaskCapacity();
+	}
+
 	@Override
 	public String taskName() {
 		return decoratedChannel.taskName();
@@ -38,11 +45,21 @@ abstract class AbstractTaskChannelDecorator<T, R, E> implements TaskChannel<T, R
 		return decoratedChannel.getTask();
 	}
 
+	@Override
+	public List<T> getTasks(int maxTasks) throws InterruptedException {
+		return decoratedChannel.getTasks(maxTasks);
+	}
+
 	@Override
 	public Stream<T> drainTasks() {
 		return decoratedChannel.drainTasks();
 	}
 
+	@Override
+	public int drainTasksTo(Collection<? super T> tasks, int maxTasks) {
+		return decoratedChannel.drainTasksTo(tasks, maxTasks);
+	}
+
 	@Override
 	public void sendResult(R result) throws InterruptedException {
 		decoratedChannel.sendResult(result);
@@ -53,6 +70,11 @@ abstract class AbstractTaskChannelDecorator<T, R, E> implements TaskChannel<T, R
 		return decoratedChannel.drainResults();
 	}
 
+	@Override
+	public int drainResultsTo(Collection<? super R> results, int maxResults) {
+		return decoratedChannel.drainResultsTo(results, maxResults);
+	}
+
 	@Override
 	public void sendError(E error) throws InterruptedException {
 		decoratedChannel.sendError(error);
@@ -63,4 +85,9 @@ abstract class AbstractTaskChannelDecorator<T, R, E> implements TaskChannel<T, R
 		return decoratedChannel.drainErrors();
 	}
 
+	@Override
+	public int drainErrorsTo(Collection<? super E> errors, int maxErrors) {
+		return decoratedChannel.drainErrorsTo(errors, maxErrors);
+	}
+
 }
@@ -0,0 +1,146 @@
+package org.codefx.jwos.analysis.channel;
+
+import com.google.common.collect.Iterables;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * A channel whose results and errors are kept in unbounded, lock-free queues.
+ * <p>
+ * Results and errors are sent by many computation threads but drained by a single one (the task manager's
+ * bookkeeping), so the blocking queues' locks are pure overhead. Here senders only perform a CAS and never block;
+ * the task queue is still blocking because consumers have to wait for tasks.
+ */
+class LockFreeTaskChannel<T, R, E> implements TaskChannel<T, R, E> {
+
+	/**
+	 * Caps the initial size of lists created by {@link #getTasks(int)} so large maximums do not allocate eagerly.
+	 */
+	private static final int INITIAL_BATCH_CAPACITY = 16;
+
+	private final String taskName;
+
+	private final BlockingQueue<T> tasks;
+	private final boolean tasksBounded;
+	private final Queue<R> results;
+	private final Queue<E> errors;
+
+	public LockFreeTaskChannel(String taskName, int taskCapacity) {
+		this.taskName = requireNonNull(taskName, "The argument 'taskName' must not be null.");
+		tasks = taskCapacity == 0 ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(taskCapacity);
+		tasksBounded = taskCapacity != 0;
+		results = new ConcurrentLinkedQueue<>();
+		errors = new ConcurrentLinkedQueue<>();
+	}
+
+	@Override
+	public int nrOfWaitingTasks() {
+		return tasks.size();
+	}
+
+	@Override
+	public boolean noWaitingTasks() {
+		return tasks.isEmpty();
+	}
+
+	@Override
+	public int remainingTaskCapacity() {
+		return tasksBounded ? tasks.remainingCapacity() : Integer.MAX_VALUE;
+	}
+
+	@Override
+	public String taskName() {
+		return taskName;
+	}
+
+	@Override
+	public void sendTask(T task) {
+		tasks.add(task);
+	}
+
+	@Override
+	public T getTask() throws InterruptedException {
+		return tasks.take();
+	}
+
+	@Override
+	public List<T> getTasks(int maxTasks) throws InterruptedException {
+		checkMaximum(maxTasks);
+		List<T> taken = new ArrayList<>(Math.min(maxTasks, INITIAL_BATCH_CAPACITY));
+		taken.add(tasks.take());
+		tasks.drainTo(taken, maxTasks - 1);
+		return taken;
+	}
+
+	@Override
+	public Stream<T> drainTasks() {
+		// create an iterable that empties 'tasks' as it returns elements
+		return stream(Iterables.consumingIterable(tasks).spliterator(), false);
+	}
+
+	@Override
+	public int drainTasksTo(Collection<? super T> tasks, int maxTasks) {
+		checkMaximum(maxTasks);
+		return this.tasks.drainTo(tasks, maxTasks);
+	}
+
+	@Override
+	public void sendResult(R result) {
+		results.add(result);
+	}
+
+	@Override
+	public Stream<R> drainResults() {
+		// create an iterable that empties 'results' as it returns elements
+		return stream(Iterables.consumingIterable(results).spliterator(), false);
+	}
+
+	@Override
+	public int drainResultsTo(Collection<? super R> results, int maxResults) {
+		return drainTo(this.results, results, maxResults);
+	}
+
+	@Override
+	public void sendError(E error) {
+		errors.add(error);
+	}
+
+	@Override
+	public Stream<E> drainErrors() {
+		// create an iterable that empties 'errors' as it returns elements
+		return stream(Iterables.consumingIterable(errors).spliterator(), false);
+	}
+
+	@Override
+	public int drainErrorsTo(Collection<? super E> errors, int maxErrors) {
+		return drainTo(this.errors, errors, maxErrors);
+	}
+
+	private static <E> int drainTo(Queue<E> source, Collection<? super E> target, int max) {
+		checkMaximum(max);
+		int drained = 0;
+		E element;
+		while (drained < max && (element = source.poll()) != null) {
+			target.add(element);
+			drained++;
+		}
+		return drained;
+	}
+
+	private static void checkMaximum(int max) {
+		if (max <= 0)
+			throw new IllegalArgumentException("The maximum number of elements must be positive but was " + max + ".");
+	}
+
+}
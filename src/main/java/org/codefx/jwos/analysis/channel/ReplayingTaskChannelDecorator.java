@@ -2,7 +2,9 @@ package org.codefx.jwos.analysis.channel;
 
 import com.google.common.collect.Iterables;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Stream;
@@ -55,6 +57,25 @@ class ReplayingTaskChannelDecorator<T, R, E> extends AbstractTaskChannelDecorato
 				: task;
 	}
 
+	@Override
+	public List<T> getTasks(int maxTasks) throws InterruptedException {
+		SimpleTaskChannel.checkMaximum(maxTasks);
+		List<T> replayed = new ArrayList<>();
+		tasksToReplay.drainTo(replayed, maxTasks);
+		return replayed.isEmpty()
+				? super.getTasks(maxTasks)
+				: replayed;
+	}
+
+	@Override
+	public int drainTasksTo(Collection<? super T> tasks, int maxTasks) {
+		SimpleTaskChannel.checkMaximum(maxTasks);
+		int replayed = tasksToReplay.drainTo(tasks, maxTasks);
+		return replayed < maxTasks
+				? replayed + super.drainTasksTo(tasks, maxTasks - replayed)
+				: replayed;
+	}
+
 	@Override
 	public Stream<T> drainTasks() {
 		Stream<T> drainReplay = stream(Iterables.consumingIterable(tasksToReplay).spliterator(), false);
@@ -67,10 +88,28 @@ class ReplayingTaskChannelDecorator<T, R, E> extends AbstractTaskChannelDecorato
 		return concat(drainReplay, super.drainResults());
 	}
 
+	@Override
+	public int drainResultsTo(Collection<? super R> results, int maxResults) {
+		SimpleTaskChannel.checkMaximum(maxResults);
+		int replayed = resultsToReplay.drainTo(results, maxResults);
+		return replayed < maxResults
+				? replayed + super.drainResultsTo(results, maxResults - replayed)
+				: replayed;
+	}
+
 	@Override
 	public Stream<E> drainErrors() {
 		Stream<E> drainReplay = stream(Iterables.consumingIterable(errorsToReplay).spliterator(), false);
 		return concat(drainReplay, super.drainErrors());
 	}
 
+	@Override
+	public int drainErrorsTo(Collection<? super E> errors, int maxErrors) {
+		SimpleTaskChannel.checkMaximum(maxErrors);
+		int replayed = errorsToReplay.drainTo(errors, maxErrors);
+		return replayed < maxErrors
+				? replayed + super.drainErrorsTo(errors, maxErrors - replayed)
+				: replayed;
+	}
+
 }
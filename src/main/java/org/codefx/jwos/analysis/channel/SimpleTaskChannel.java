@@ -2,6 +2,9 @@ package org.codefx.jwos.analysis.channel;
 
 import com.google.common.collect.Iterables;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -12,15 +15,26 @@ import static java.util.stream.StreamSupport.stream;
 
 class SimpleTaskChannel<T, R, E> implements TaskChannel<T,R,E> {
 
+	/**
+	 * Caps the initial size of lists created by {@link #getTasks(int)} so large maximums do not allocate eagerly.
+	 */
+	private static final int INITIAL_BATCH_CAPACITY = 16;
+
 	private final String taskName;
 
 	private final BlockingQueue<T> tasks;
+	private final boolean tasksBounded;
 	private final BlockingQueue<R> results;
 	private final BlockingQueue<E> errors;
 
 	public SimpleTaskChannel(String taskName, int resultCapacity, int errorCapacity) {
+		this(taskName, 0, resultCapacity, errorCapacity);
+	}
+
+	public SimpleTaskChannel(String taskName, int taskCapacity, int resultCapacity, int errorCapacity) {
 		this.taskName = requireNonNull(taskName, "The argument 'taskName' must not be null.");
-		tasks = new LinkedBlockingQueue<>();
+		tasks = createQueue(taskCapacity);
+		tasksBounded = taskCapacity != 0;
 		results = createQueue(resultCapacity);
 		errors = createQueue(errorCapacity);
 	}
@@ -39,6 +53,11 @@ class SimpleTaskChannel<T, R, E> implements TaskChannel<T,R,E> {
 		return tasks.isEmpty();
 	}
 
+	@Override
+	public int remainingTaskCapacity() {
+		return tasksBounded ? tasks.remainingCapacity() : Integer.MAX_VALUE;
+	}
+
 	@Override
 	public String taskName() {
 		return taskName;
@@ -54,6 +73,21 @@ class SimpleTaskChannel<T, R, E> implements TaskChannel<T,R,E> {
 		return tasks.take();
 	}
 
+	@Override
+	public List<T> getTasks(int maxTasks) throws InterruptedException {
+		checkMaximum(maxTasks);
+		List<T> taken = new ArrayList<>(Math.min(maxTasks, INITIAL_BATCH_CAPACITY));
+		taken.add(tasks.take());
+		tasks.drainTo(taken, maxTasks - 1);
+		return taken;
+	}
+
+	@Override
+	public int drainTasksTo(Collection<? super T> tasks, int maxTasks) {
+		checkMaximum(maxTasks);
+		return this.tasks.drainTo(tasks, maxTasks);
+	}
+
 	@Override
 	public Stream<T> drainTasks() {
 		// create an iterable that empties 'tasks' as it returns elements
@@ -71,6 +105,12 @@ class SimpleTaskChannel<T, R, E> implements TaskChannel<T,R,E> {
 		return stream(Iterables.consumingIterable(results).spliterator(), false);
 	}
 
+	@Override
+	public int drainResultsTo(Collection<? super R> results, int maxResults) {
+		checkMaximum(maxResults);
+		return this.results.drainTo(results, maxResults);
+	}
+
 	@Override
 	public void sendError(E error) throws InterruptedException {
 		errors.add(error);
@@ -82,4 +122,15 @@ class SimpleTaskChannel<T, R, E> implements TaskChannel<T,R,E> {
 		return stream(Iterables.consumingIterable(errors).spliterator(), false);
 	}
 
+	@Override
+	public int drainErrorsTo(Collection<? super E> errors, int maxErrors) {
+		checkMaximum(maxErrors);
+		return this.errors.drainTo(errors, maxErrors);
+	}
+
+	static void checkMaximum(int max) {
+		if (max <= 0)
+			throw new IllegalArgumentException("The maximum number of elements must be positive but was " + max + ".");
+	}
+
 }
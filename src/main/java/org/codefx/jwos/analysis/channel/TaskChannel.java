@@ -1,6 +1,7 @@
 package org.codefx.jwos.analysis.channel;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptySet;
@@ -9,6 +10,10 @@ import static java.util.Collections.emptySet;
  * A channel handles communication of a single type of tasks.
  * <p>
  * It consists of three blocking queue, one to send out tasks and two to receive results or errors, respectively.
+ * <p>
+ * The task queue can be bounded, in which case the sender must not send more tasks than there is
+ * {@link #remainingTaskCapacity() remaining capacity}. This keeps work in the sender's own structures until
+ * consumers are ready for it instead of piling it up in the channel.
  *
  * @param <T> the type of tasks
  * @param <R> the type of the tasks' successful result
@@ -39,6 +44,42 @@ public interface TaskChannel<T, R, E> {
 		return new SimpleTaskChannel<>(taskName, resultCapacity, errorCapacity);
 	}
 
+	/**
+	 * Creates a new channel with the specified capacities for tasks, results, and errors (where 0 means unbounded).
+	 */
+	static <T, R, E> TaskChannel<T, R, E> namedAndBounded(
+			String taskName, int taskCapacity, int resultCapacity, int errorCapacity) {
+		return new SimpleTaskChannel<>(taskName, taskCapacity, resultCapacity, errorCapacity);
+	}
+
+	/**
+	 * Creates a new channel with the specified capacity for tasks (where 0 means unbounded) and unbounded capacities
+	 * for results and errors.
+	 */
+	static <T, R, E> TaskChannel<T, R, E> namedWithTaskCapacity(String taskName, int taskCapacity) {
+		return new SimpleTaskChannel<>(taskName, taskCapacity, 0, 0);
+	}
+
+	/**
+	 * Creates a new channel with an unbounded task queue and lock-free queues for results and errors.
+	 * <p>
+	 * Sending results and errors never blocks, which makes this channel a good fit if many threads answer and only
+	 * one drains the answers.
+	 */
+	static <T, R, E> TaskChannel<T, R, E> namedAndLockFree(String taskName) {
+		return new LockFreeTaskChannel<>(taskName, 0);
+	}
+
+	/**
+	 * Creates a new channel with the specified capacity for tasks (where 0 means unbounded) and lock-free queues
+	 * for results and errors.
+	 *
+	 * @see #namedAndLockFree(String)
+	 */
+	static <T, R, E> TaskChannel<T, R, E> namedAndLockFree(String taskName, int taskCapacity) {
+		return new LockFreeTaskChannel<>(taskName, taskCapacity);
+	}
+
 	/**
 	 * Creates a new channel that replays the specified tasks, results, and errors before querying this channel.
 	 * <p>
@@ -73,19 +114,59 @@ public interface TaskChannel<T, R, E> {
 
 	boolean noWaitingTasks();
 
+	/**
+	 * @return the number of tasks that can be sent without exceeding the channel's capacity;
+	 * {@link Integer#MAX_VALUE} if it is unbounded
+	 */
+	int remainingTaskCapacity();
+
 	String taskName();
 
+	/**
+	 * Sends the specified task.
+	 *
+	 * @throws IllegalStateException if there is no {@link #remainingTaskCapacity() remaining capacity}
+	 */
 	void sendTask(T task);
 
 	T getTask() throws InterruptedException;
 
+	/**
+	 * Blocks until at least one task is available and then returns up to the specified number of tasks.
+	 *
+	 * @param maxTasks the maximum number of tasks to return; must be positive
+	 * @return a non-empty list of tasks
+	 */
+	List<T> getTasks(int maxTasks) throws InterruptedException;
+
 	Stream<T> drainTasks();
 
+	/**
+	 * Removes up to the specified number of waiting tasks without blocking and adds them to the specified collection.
+	 *
+	 * @return the number of transferred tasks
+	 */
+	int drainTasksTo(Collection<? super T> tasks, int maxTasks);
+
 	void sendResult(R result) throws InterruptedException;
 
 	Stream<R> drainResults();
 
+	/**
+	 * Removes up to the specified number of results without blocking and adds them to the specified collection.
+	 *
+	 * @return the number of transferred results
+	 */
+	int drainResultsTo(Collection<? super R> results, int maxResults);
+
 	void sendError(E error) throws InterruptedException;
 
 	Stream<E> drainErrors();
+
+	/**
+	 * Removes up to the specified number of errors without blocking and adds them to the specified collection.
+	 *
+	 * @return the number of transferred errors
+	 */
+	int drainErrorsTo(Collection<? super E> errors, int maxErrors);
 }
@@ -1,60 +1,180 @@
 package org.codefx.jwos.analysis.task;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import static java.util.Objects.requireNonNull;
+
 /**
  * A task can be in a variety of states and this class handles the transitions from one to the other.
+ * <p>
+ * The state is stored compactly as the {@link TaskStateIdentifier#ordinal() ordinal} of its identifier plus a single
+ * slot for the result or error, so transitions do not allocate.
+ * <p>
+ * Transitions are atomic, so a task can be updated from any thread: if several threads try to transition the same
+ * task, each transition is checked against the state it actually replaces and illegal ones fail with an
+ * {@link IllegalStateException}. The {@link TaskStateListener listener} is informed once per successful transition.
+ * Like {@link java.util.concurrent.FutureTask}, a task that succeeds or fails briefly passes through an internal
+ * state while the outcome is stored; readers spin until it is published.
  *
  * @param <R> the task's result if it succeeded
- * @see TaskState
  */
 public class Task<R> {
 
-	private TaskState<R> state;
+	private static final TaskStateIdentifier[] IDENTIFIERS = TaskStateIdentifier.values();
+	private static final int NOT_COMPUTED = TaskStateIdentifier.NOT_COMPUTED.ordinal();
+	private static final int QUEUED = TaskStateIdentifier.QUEUED.ordinal();
+	private static final int STARTED = TaskStateIdentifier.STARTED.ordinal();
+	private static final int FAILED = TaskStateIdentifier.FAILED.ordinal();
+	private static final int SUCCEEDED = TaskStateIdentifier.SUCCEEDED.ordinal();
+	/**
+	 * Internal state while the outcome of a failed or succeeded task is stored.
+	 */
+	private static final int FINISHING = IDENTIFIERS.length;
+
+	/**
+	 * The messages for illegal transitions, indexed by the current and the requested state; {@code null} if the
+	 * transition is legal.
+	 */
+	private static final String[][] ILLEGAL_TRANSITIONS = new String[IDENTIFIERS.length][IDENTIFIERS.length];
+
+	static {
+		ILLEGAL_TRANSITIONS[QUEUED][QUEUED] = "A queued computation must not be queued again.";
+		ILLEGAL_TRANSITIONS[QUEUED][FAILED] = "A queued computation must be started before it can fail.";
+		ILLEGAL_TRANSITIONS[QUEUED][SUCCEEDED] = "A queued computation must be started before it can succeed.";
+
+		ILLEGAL_TRANSITIONS[STARTED][QUEUED] = "A started computation must not be queued again.";
+		ILLEGAL_TRANSITIONS[STARTED][STARTED] = "A started computation must not be started again.";
+
+		ILLEGAL_TRANSITIONS[FAILED][STARTED] =
+				"A failed computation must be queued before it can be started again.";
+		ILLEGAL_TRANSITIONS[FAILED][FAILED] =
+				"A failed computation must be queued and started before it can fail again.";
+		ILLEGAL_TRANSITIONS[FAILED][SUCCEEDED] =
+				"A failed computation must be queued and started before it can succeed.";
+
+		ILLEGAL_TRANSITIONS[SUCCEEDED][STARTED] =
+				"A succeeded computation must be queued before it can be started again.";
+		ILLEGAL_TRANSITIONS[SUCCEEDED][FAILED] =
+				"A succeeded computation must be queued and started before it can fail.";
+		ILLEGAL_TRANSITIONS[SUCCEEDED][SUCCEEDED] =
+				"A succeeded computation must be queued and started before it can succeed again.";
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicIntegerFieldUpdater<Task> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(Task.class, "state");
+
+	private final TaskStateListener listener;
+	private volatile int state;
+	/**
+	 * The result if the task succeeded or the error if it failed; published by the write to {@link #state}.
+	 */
+	private Object outcome;
 
 	public Task() {
-		state = new NotComputed<>();
+		this(TaskStateListener.ignoreTransitions());
+	}
+
+	public Task(TaskStateListener listener) {
+		this.listener = requireNonNull(listener, "The argument 'listener' must not be null.");
+		state = NOT_COMPUTED;
 	}
 
 	/**
 	 * The task was queued but not yet taken out of the queue.
 	 */
 	public void queued() {
-		state = state.queued();
+		transition(QUEUED);
 	}
 
 	public void started() {
-		state = state.started();
+		transition(STARTED);
 	}
 
 	public void failed(Exception exception) {
-		state = state.failed(exception);
+		requireNonNull(exception, "The argument 'exception' must not be null.");
+		finish(FAILED, exception);
 	}
 
 	public void succeeded(R result) {
-		state = state.succeeded(result);
+		requireNonNull(result, "The argument 'result' must not be null.");
+		finish(SUCCEEDED, result);
+	}
+
+	private void transition(int newState) {
+		int oldState;
+		do {
+			oldState = publishedState();
+			checkTransition(oldState, newState);
+		} while (!STATE.compareAndSet(this, oldState, newState));
+		listener.transitioned(IDENTIFIERS[oldState], IDENTIFIERS[newState]);
+	}
+
+	private void finish(int newState, Object newOutcome) {
+		int oldState;
+		do {
+			oldState = publishedState();
+			checkTransition(oldState, newState);
+		} while (!STATE.compareAndSet(this, oldState, FINISHING));
+		outcome = newOutcome;
+		state = newState;
+		listener.transitioned(IDENTIFIERS[oldState], IDENTIFIERS[newState]);
+	}
+
+	private static void checkTransition(int oldState, int newState) {
+		String illegalTransition = ILLEGAL_TRANSITIONS[oldState][newState];
+		if (illegalTransition != null)
+			throw new IllegalStateException(illegalTransition);
+	}
+
+	private int publishedState() {
+		int currentState = state;
+		while (currentState == FINISHING) {
+			Thread.yield();
+			currentState = state;
+		}
+		return currentState;
 	}
 
 	public Exception error() {
-		if (!Failed.class.isInstance(state))
-			throw new IllegalStateException("Only failed computations have an error.");
-		return ((Failed) state).error();
+		return (Exception) outcomeIn(FAILED, "Only failed computations have an error.");
 	}
 
+	@SuppressWarnings("unchecked")
 	public R result() {
-		if (!Succeeded.class.isInstance(state))
-			throw new IllegalStateException("Only succeeded computations have a result.");
-		return ((Succeeded<R>) state).result();
+		return (R) outcomeIn(SUCCEEDED, "Only succeeded computations have a result.");
+	}
+
+	private Object outcomeIn(int expectedState, String wrongStateMessage) {
+		while (true) {
+			if (publishedState() != expectedState)
+				throw new IllegalStateException(wrongStateMessage);
+			Object currentOutcome = outcome;
+			// if the task was requeued and finished again, the outcome might belong to a different state
+			if (state == expectedState)
+				return currentOutcome;
+		}
 	}
 
 	public TaskStateIdentifier identifier() {
-		return state.identifier();
+		return IDENTIFIERS[publishedState()];
 	}
 
 	public boolean isFinished() {
-		return state.isFinished();
+		return identifier().isFinished();
 	}
 
 	@Override
 	public String toString() {
-		return state.toString();
+		int currentState = publishedState();
+		if (currentState == NOT_COMPUTED)
+			return "Not computed";
+		if (currentState == QUEUED)
+			return "Queued...";
+		if (currentState == STARTED)
+			return "Started...";
+		if (currentState == FAILED)
+			return "Failed: " + outcome;
+		return "Succeeded: " + outcome;
 	}
 }
@@ -24,4 +24,21 @@ public enum TaskStateIdentifier {
 		}
 	}
 
+	/**
+	 * @return true if the task was handed out for computation but did not yet finish
+	 */
+	public boolean isInProgress() {
+		switch (this) {
+			case QUEUED:
+			case STARTED:
+				return true;
+			case NOT_COMPUTED:
+			case FAILED:
+			case SUCCEEDED:
+				return false;
+			default:
+				throw new IllegalArgumentException(format("Unknown task state \"%s\".", this));
+		}
+	}
+
 }
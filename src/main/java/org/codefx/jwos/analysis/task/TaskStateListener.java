@@ -0,0 +1,18 @@
+package org.codefx.jwos.analysis.task;
+
+/**
+ * Is informed whenever a {@link Task} transitions from one state to another.
+ */
+@FunctionalInterface
+public interface TaskStateListener {
+
+	/**
+	 * @return a listener that ignores all transitions
+	 */
+	static TaskStateListener ignoreTransitions() {
+		return (from, to) -> { };
+	}
+
+	void transitioned(TaskStateIdentifier from, TaskStateIdentifier to);
+
+}
@@ -13,6 +13,10 @@ import static java.util.stream.Collectors.joining;
 
 /**
  * An artifact that has undergone all processing steps (either successfully or not).
+ * <p>
+ * Like other artifacts, completed artifacts are identified by their coordinates: equality and hash code only depend on
+ * them and not on violations or dependees. Including the latter would walk the entire dependency graph (possibly many
+ * times over because it is not a tree) on each comparison.
  */
 public class CompletedArtifact implements IdentifiesArtifact {
 
@@ -20,6 +24,7 @@ public class CompletedArtifact implements IdentifiesArtifact {
 	private final MarkTransitiveInternalDependencies transitiveMarker;
 	private final Either<Exception, ImmutableSet<Violation>> violations;
 	private final Either<Exception, ImmutableSet<CompletedArtifact>> dependees;
+	private final int hashCode;
 
 	// CONSTRUCTION
 
@@ -31,6 +36,7 @@ public class CompletedArtifact implements IdentifiesArtifact {
 		this.dependees = dependees;
 		this.transitiveMarker = MarkTransitiveInternalDependencies
 				.fromDependees(determineMarker(violations), extractMarkers(dependees));
+		this.hashCode = Objects.hash(artifact);
 	}
 
 	private static MarkInternalDependencies determineMarker(Either<Exception, ImmutableSet<Violation>> violations) {
@@ -78,13 +84,13 @@ public class CompletedArtifact implements IdentifiesArtifact {
 		if (o == null || getClass() != o.getClass())
 			return false;
 		CompletedArtifact that = (CompletedArtifact) o;
-		return Objects.equals(artifact, that.artifact)
-				&& Objects.equals(dependees, that.dependees);
+		return hashCode == that.hashCode
+				&& Objects.equals(artifact, that.artifact);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(artifact, dependees);
+		return hashCode;
 	}
 
 	@Override
@@ -0,0 +1,319 @@
+package org.codefx.jwos.computation;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runs the {@link Computation computations} of several stages on a shared pool of threads and adapts the number of
+ * workers per stage to its backlog.
+ * <p>
+ * Each stage has a minimum and maximum number of workers. Periodically, the executor looks at how busy each stage's
+ * workers were and how many tasks are waiting for it. It wants enough workers to keep them at
+ * {@link #TARGET_UTILISATION} and to work off the waiting tasks within the next {@link #ADAPTATION_INTERVAL_IN_MS
+ * adaptation interval}. For the latter, it uses the average time a task took (Little's law). Only the time spent
+ * computing tasks counts, not the time spent waiting for them; computations report when they received how many
+ * tasks via {@link ReceivedTasks}, so the time per task has the same unit as the number of waiting tasks (e.g. a
+ * batch of artifacts counts as several tasks). Additional workers are started right away; surplus workers retire
+ * after finishing their current computation.
+ * <p>
+ * A computation that throws an {@link InterruptedException} (e.g. an exhausted {@link TaskSource}) ends its stage,
+ * i.e. no new workers are started for it. This mirrors {@link ComputationThread}. Other exceptions are logged and the
+ * worker continues with its next computation.
+ * <p>
+ * Stages that mostly wait for I/O can be {@link #addIoStage(Computation, int, int, IntSupplier) added as such}, in
+ * which case their workers run on virtual threads if the JVM supports them. Otherwise they share the pool of platform
+ * threads like all other stages.
+ */
+public class AdaptiveComputationExecutor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Computation Executor");
+
+	private static final long ADAPTATION_INTERVAL_IN_MS = 1000;
+	/**
+	 * The share of its time a worker should spend computing tasks; the rest leaves room for arriving tasks to be picked
+	 * up right away.
+	 */
+	private static final double TARGET_UTILISATION = 0.8;
+	/**
+	 * The weight of the latest interval's average time per task in the exponentially weighted moving average.
+	 */
+	private static final double TASK_TIME_SMOOTHING = 0.3;
+
+	private final List<Stage> stages;
+	private final ExecutorService workers;
+	private final ExecutorService ioWorkers;
+	private final ScheduledExecutorService adaptation;
+	private volatile boolean aborted;
+
+	public AdaptiveComputationExecutor() {
+		stages = new CopyOnWriteArrayList<>();
+		workers = Executors.newCachedThreadPool(
+				new ThreadFactoryBuilder().setNameFormat("computation-%d").build());
+		ioWorkers = VirtualThreads.newPerTaskExecutor().orElse(workers);
+		if (ioWorkers != workers)
+			LOGGER.info("Running I/O stages on virtual threads.");
+		adaptation = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat("computation-adaptation").setDaemon(true).build());
+	}
+
+	/**
+	 * Adds a stage whose number of workers is adapted between the specified bounds.
+	 *
+	 * @param computation the computation the workers execute
+	 * @param minWorkers the minimum number of workers; must be positive
+	 * @param maxWorkers the maximum number of workers; must be at least {@code minWorkers}
+	 * @param waitingTasks the number of tasks waiting for this stage
+	 */
+	public void addStage(Computation computation, int minWorkers, int maxWorkers, IntSupplier waitingTasks) {
+		addStage(computation, minWorkers, maxWorkers, waitingTasks, workers);
+	}
+
+	/**
+	 * Adds a stage that mostly waits for I/O and whose number of workers is adapted between the specified bounds.
+	 * If available, its workers run on virtual threads.
+	 *
+	 * @see #addStage(Computation, int, int, IntSupplier)
+	 */
+	public void addIoStage(Computation computation, int minWorkers, int maxWorkers, IntSupplier waitingTasks) {
+		addStage(computation, minWorkers, maxWorkers, waitingTasks, ioWorkers);
+	}
+
+	private void addStage(
+			Computation computation,
+			int minWorkers,
+			int maxWorkers,
+			IntSupplier waitingTasks,
+			ExecutorService executor) {
+		if (minWorkers <= 0)
+			throw new IllegalArgumentException("A stage needs at least one worker.");
+		if (maxWorkers < minWorkers)
+			throw new IllegalArgumentException("The maximum number of workers must not be smaller than the minimum.");
+		stages.add(new Stage(computation, minWorkers, maxWorkers, waitingTasks, executor));
+	}
+
+	/**
+	 * @return whether {@link #addIoStage(Computation, int, int, IntSupplier) I/O stages} run on virtual threads
+	 */
+	public boolean runsIoStagesOnVirtualThreads() {
+		return ioWorkers != workers;
+	}
+
+	/**
+	 * Adds a stage with a fixed number of workers.
+	 */
+	public void addStage(Computation computation, int workers) {
+		addStage(computation, workers, workers, () -> 0);
+	}
+
+	public void start() {
+		stages.forEach(stage -> stage.adaptWorkersTo(stage.minWorkers));
+		adaptation.scheduleWithFixedDelay(
+				this::adaptWorkers, ADAPTATION_INTERVAL_IN_MS, ADAPTATION_INTERVAL_IN_MS, MILLISECONDS);
+	}
+
+	private void adaptWorkers() {
+		try {
+			stages.forEach(Stage::adaptWorkers);
+		} catch (RuntimeException ex) {
+			// an exception would cancel all future adaptations
+			LOGGER.error("Adapting the number of workers failed.", ex);
+		}
+	}
+
+	/**
+	 * Informs the executor that it should abort; this interrupts all workers.
+	 */
+	public void notifyAbort() {
+		aborted = true;
+		adaptation.shutdownNow();
+		workers.shutdownNow();
+		ioWorkers.shutdownNow();
+	}
+
+	/**
+	 * Computes how many workers a stage needs.
+	 *
+	 * @param busyWorkers
+	 * 		how many workers were computing tasks on average during the last interval
+	 * @param waiting
+	 * 		the number of tasks waiting for the stage
+	 * @param averageNanosPerTask
+	 * 		how long computing a single task takes on average; {@code NaN} if no task was computed yet
+	 */
+	static int computeDesiredWorkers(
+			int minWorkers,
+			int maxWorkers,
+			int desiredWorkers,
+			double busyWorkers,
+			int waiting,
+			double averageNanosPerTask) {
+		if (waiting > 0 && Double.isNaN(averageNanosPerTask))
+			// nothing was computed yet, so grow carefully
+			return Math.min(desiredWorkers + 1, maxWorkers);
+
+		// keep up with the current load without overloading the workers ...
+		double needed = busyWorkers / TARGET_UTILISATION;
+		if (waiting > 0)
+			// ... and work off the waiting tasks within the next interval (Little's law)
+			needed += waiting * averageNanosPerTask / MILLISECONDS.toNanos(ADAPTATION_INTERVAL_IN_MS);
+		else
+			// ... but without waiting tasks, additional workers would have nothing to do
+			needed = Math.min(needed, desiredWorkers);
+		return (int) Math.max(minWorkers, Math.min(Math.ceil(needed), maxWorkers));
+	}
+
+	private class Stage {
+
+		private final Computation computation;
+		private final int minWorkers;
+		private final int maxWorkers;
+		private final IntSupplier waitingTasks;
+		private final ExecutorService executor;
+
+		private final AtomicInteger workers;
+		private volatile int desiredWorkers;
+		private volatile boolean ended;
+
+		private final LongAdder busyNanos;
+		private final LongAdder computedTasks;
+		// only accessed by the adaptation thread
+		private double averageNanosPerTask;
+		private long lastAdaptationNanos;
+
+		Stage(
+				Computation computation,
+				int minWorkers,
+				int maxWorkers,
+				IntSupplier waitingTasks,
+				ExecutorService executor) {
+			this.computation = requireNonNull(computation, "The argument 'computation' must not be null.");
+			this.minWorkers = minWorkers;
+			this.maxWorkers = maxWorkers;
+			this.waitingTasks = requireNonNull(waitingTasks, "The argument 'waitingTasks' must not be null.");
+			this.executor = requireNonNull(executor, "The argument 'executor' must not be null.");
+			this.workers = new AtomicInteger();
+			this.desiredWorkers = minWorkers;
+			this.busyNanos = new LongAdder();
+			this.computedTasks = new LongAdder();
+			this.averageNanosPerTask = Double.NaN;
+			this.lastAdaptationNanos = System.nanoTime();
+		}
+
+		void adaptWorkers() {
+			if (ended)
+				return;
+			long now = System.nanoTime();
+			long intervalNanos = now - lastAdaptationNanos;
+			lastAdaptationNanos = now;
+
+			long busy = busyNanos.sumThenReset();
+			updateAverageNanosPerTask(busy, computedTasks.sumThenReset());
+			// a computation's time is only added when it ends, so this can exceed the number of workers
+			double busyWorkers = Math.min((double) busy / intervalNanos, workers.get());
+			int desired = computeDesiredWorkers(
+					minWorkers, maxWorkers, desiredWorkers, busyWorkers, waitingTasks.getAsInt(), averageNanosPerTask);
+			if (desired != desiredWorkers)
+				LOGGER.debug("Adapting workers for '{}' from {} to {} (busy workers: {}, average time per task: {} ms).",
+						computation.name(), desiredWorkers, desired,
+						busyWorkers, NANOSECONDS.toMillis((long) averageNanosPerTask));
+			adaptWorkersTo(desired);
+		}
+
+		private void updateAverageNanosPerTask(long nanos, long tasks) {
+			if (tasks == 0)
+				return;
+			double nanosPerTask = (double) nanos / tasks;
+			averageNanosPerTask = Double.isNaN(averageNanosPerTask)
+					? nanosPerTask
+					: TASK_TIME_SMOOTHING * nanosPerTask + (1 - TASK_TIME_SMOOTHING) * averageNanosPerTask;
+		}
+
+		void adaptWorkersTo(int desired) {
+			desiredWorkers = desired;
+			int current;
+			while (!aborted && !ended && (current = workers.get()) < desired)
+				if (workers.compareAndSet(current, current + 1))
+					executor.execute(this::work);
+		}
+
+		private void work() {
+			String poolThreadName = Thread.currentThread().getName();
+			Thread.currentThread().setName(computation.name());
+			try {
+				computeUntilRetiredOrAborted();
+			} finally {
+				Thread.currentThread().setName(poolThreadName);
+			}
+		}
+
+		private void computeUntilRetiredOrAborted() {
+			boolean retired = false;
+			try {
+				while (!aborted && !ended) {
+					retired = retireIfSurplus();
+					if (retired)
+						return;
+					computeOnce();
+				}
+			} finally {
+				// a retired worker already decremented the count
+				if (!retired)
+					workers.decrementAndGet();
+			}
+		}
+
+		private void computeOnce() {
+			try {
+				ReceivedTasks.clear();
+				long start = System.nanoTime();
+				computation.compute();
+				recordWork(start, System.nanoTime());
+			} catch (InterruptedException ex) {
+				ended = true;
+			} catch (RuntimeException ex) {
+				// letting the exception escape would silently lose this worker
+				LOGGER.error("Computation '" + computation.name() + "' failed.", ex);
+			}
+		}
+
+		private void recordWork(long start, long end) {
+			if (ReceivedTasks.recorded()) {
+				// the time spent waiting for the tasks is not work
+				busyNanos.add(end - ReceivedTasks.receivedAtNanos());
+				computedTasks.add(ReceivedTasks.count());
+			} else {
+				busyNanos.add(end - start);
+				computedTasks.increment();
+			}
+		}
+
+		/**
+		 * @return true if this worker retired, in which case it must stop computing
+		 */
+		private boolean retireIfSurplus() {
+			while (true) {
+				int current = workers.get();
+				if (current <= desiredWorkers)
+					return false;
+				if (workers.compareAndSet(current, current - 1))
+					return true;
+			}
+		}
+
+	}
+
+}
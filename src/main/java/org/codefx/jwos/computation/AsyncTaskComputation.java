@@ -0,0 +1,121 @@
+package org.codefx.jwos.computation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes a task along the same steps as {@link TaskComputation} but {@link ComputeTaskAsync asynchronously}:
+ * <ol>
+ *     <li>{@link ReceiveTask receive} a new task (e.g. an artifact to download)
+ *     <li>{@link ComputeTaskAsync start} the task (e.g. an asynchronous HTTP request for the JAR)
+ *     <li>once it completes, send the {@link SendResult result} or {@link SendError error}
+ * </ol>
+ * A call to {@link #compute()} does not wait for the task to complete, so a single thread can keep many tasks in
+ * flight. To not overwhelm the computation, at most {@code maxTasksInFlight} tasks are started before one of them has
+ * to complete.
+ * <p>
+ * The answer is sent on the thread that completes the task. If that thread is interrupted while sending, sending is
+ * retried until the answer was delivered (and the interrupt is restored afterwards) because whoever handed out the
+ * task waits for its answer.
+ *
+ * @param <T> the type of the task to perform
+ * @param <R> the type of the task's result if successful
+ */
+public class AsyncTaskComputation<T, R> implements Computation {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Computation");
+
+	private final String name;
+	private final ReceiveTask<T> receive;
+	private final ComputeTaskAsync<T, R> compute;
+	private final SendResult<R> sendResult;
+	private final SendError<T> sendError;
+	private final Semaphore tasksInFlight;
+
+	public AsyncTaskComputation(
+			String name,
+			ReceiveTask<T> receive,
+			ComputeTaskAsync<T, R> compute,
+			SendResult<R> sendResult,
+			SendError<T> sendError,
+			int maxTasksInFlight) {
+		this.name = requireNonNull(name, "The argument 'name' must not be null.");
+		this.receive = requireNonNull(receive, "The argument 'receive' must not be null.");
+		this.compute = requireNonNull(compute, "The argument 'compute' must not be null.");
+		this.sendResult = requireNonNull(sendResult, "The argument 'sendResult' must not be null.");
+		this.sendError = requireNonNull(sendError, "The argument 'sendError' must not be null.");
+		if (maxTasksInFlight <= 0)
+			throw new IllegalArgumentException("The argument 'maxTasksInFlight' must be positive.");
+		this.tasksInFlight = new Semaphore(maxTasksInFlight);
+	}
+
+	@Override
+	public String name() {
+		return name;
+	}
+
+	@Override
+	public void compute() throws InterruptedException {
+		tasksInFlight.acquire();
+		T task;
+		try {
+			task = receive.receive();
+		} catch (InterruptedException ex) {
+			tasksInFlight.release();
+			throw ex;
+		}
+		startComputation(task).whenComplete((result, error) -> sendAnswer(task, result, error));
+	}
+
+	private void sendAnswer(T task, R result, Throwable error) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					if (error == null)
+						sendResult.send(result);
+					else
+						sendError.send(task, asException(error));
+					return;
+				} catch (InterruptedException ex) {
+					// dropping the answer would leave the task in progress forever, so try again
+					interrupted = true;
+					LOGGER.debug("Interrupted while sending the answer for task '{}' of '{}'; retrying.", task, name);
+				}
+			}
+		} finally {
+			tasksInFlight.release();
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private CompletionStage<R> startComputation(T task) {
+		try {
+			return compute.compute(task);
+		} catch (RuntimeException ex) {
+			// a computation that fails before returning a stage is treated like one that completes exceptionally
+			CompletableFuture<R> failed = new CompletableFuture<>();
+			failed.completeExceptionally(ex);
+			return failed;
+		}
+	}
+
+	private static Exception asException(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null
+				? error.getCause()
+				: error;
+		return cause instanceof Exception
+				? (Exception) cause
+				: new ExecutionException(cause);
+	}
+
+}
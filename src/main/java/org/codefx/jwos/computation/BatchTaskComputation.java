@@ -0,0 +1,96 @@
+package org.codefx.jwos.computation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Computes a batch of tasks along these steps:
+ * <ol>
+ *     <li>{@link ReceiveTask receive} several tasks at once (e.g. artifacts to analyze)
+ *     <li>try to {@link ComputeTask perform} them together (e.g. analyze all JARs in one JDeps run)
+ *     <li>send the {@link SendResult results}
+ * </ol>
+ * If the batch fails as a whole, each task is computed individually, so an error can be attributed to the task that
+ * caused it and {@link SendError sent} for it.
+ *
+ * @param <T> the type of the tasks to perform
+ * @param <R> the type of the tasks' results if successful
+ */
+public class BatchTaskComputation<T, R> implements Computation {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Computation");
+
+	private final String name;
+	private final ReceiveTask<List<T>> receive;
+	private final ComputeTask<List<T>, List<R>> computeBatch;
+	private final ComputeTask<T, R> computeIndividually;
+	private final SendResult<R> sendResult;
+	private final SendError<T> sendError;
+
+	/**
+	 * Creates a new batch computation.
+	 *
+	 * @param computeBatch
+	 * 		computes all tasks at once and returns their results in the same order
+	 * @param computeIndividually
+	 * 		computes a single task; used if the batch fails
+	 */
+	public BatchTaskComputation(
+			String name,
+			ReceiveTask<List<T>> receive,
+			ComputeTask<List<T>, List<R>> computeBatch,
+			ComputeTask<T, R> computeIndividually,
+			SendResult<R> sendResult,
+			SendError<T> sendError) {
+		this.name = requireNonNull(name, "The argument 'name' must not be null.");
+		this.receive = requireNonNull(receive, "The argument 'receive' must not be null.");
+		this.computeBatch = requireNonNull(computeBatch, "The argument 'computeBatch' must not be null.");
+		this.computeIndividually = requireNonNull(
+				computeIndividually, "The argument 'computeIndividually' must not be null.");
+		this.sendResult = requireNonNull(sendResult, "The argument 'sendResult' must not be null.");
+		this.sendError = requireNonNull(sendError, "The argument 'sendError' must not be null.");
+	}
+
+	@Override
+	public String name() {
+		return name;
+	}
+
+	@Override
+	public void compute() throws InterruptedException {
+		List<T> tasks = receive.receive();
+		ReceivedTasks.record(tasks.size());
+		List<R> results;
+		try {
+			results = computeBatch.compute(tasks);
+			if (results.size() != tasks.size())
+				throw new IllegalStateException(
+						"Computing " + tasks.size() + " tasks in a batch returned " + results.size() + " results.");
+		} catch (InterruptedException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			LOGGER.warn("Computing {} tasks of '{}' in a batch failed; computing them individually.", tasks.size(), name, ex);
+			computeIndividually(tasks);
+			return;
+		}
+		for (R result : results)
+			sendResult.send(result);
+	}
+
+	private void computeIndividually(List<T> tasks) throws InterruptedException {
+		for (T task : tasks)
+			try {
+				R result = computeIndividually.compute(task);
+				sendResult.send(result);
+			} catch (InterruptedException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				sendError.send(task, ex);
+			}
+	}
+
+}
@@ -6,7 +6,7 @@ public class ComputationThread extends Thread {
 
 	private final Computation computation;
 	private final OnAbort onAbort;
-	private boolean aborted;
+	private volatile boolean aborted;
 
 	public ComputationThread(Computation computation) {
 		this(computation, OnAbort.INTERRUPT_THREAD);
@@ -0,0 +1,37 @@
+package org.codefx.jwos.computation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Like {@link ComputeTask} but instead of blocking until the task is computed, immediately returns a stage that
+ * completes with the result or exceptionally with the error.
+ */
+@FunctionalInterface
+public interface ComputeTaskAsync<T, R> {
+
+	CompletionStage<R> compute(T task);
+
+	/**
+	 * Adapts the specified blocking computation by running it on the specified executor.
+	 */
+	static <T, R> ComputeTaskAsync<T, R> onExecutor(ComputeTask<T, R> compute, Executor executor) {
+		requireNonNull(compute, "The argument 'compute' must not be null.");
+		requireNonNull(executor, "The argument 'executor' must not be null.");
+		return task -> {
+			CompletableFuture<R> result = new CompletableFuture<>();
+			executor.execute(() -> {
+				try {
+					result.complete(compute.compute(task));
+				} catch (Exception ex) {
+					result.completeExceptionally(ex);
+				}
+			});
+			return result;
+		};
+	}
+
+}
@@ -0,0 +1,58 @@
+package org.codefx.jwos.computation;
+
+/**
+ * Lets a computation record when it received its tasks and how many, so the {@link AdaptiveComputationExecutor} can
+ * tell the time a worker spent waiting for tasks from the time it spent computing them.
+ * <p>
+ * The record is kept per thread and hence per worker. Computations that do not record anything (e.g. a
+ * {@link TaskSource}) are considered to compute a single task for the whole duration of {@link Computation#compute()}.
+ */
+final class ReceivedTasks {
+
+	private static final ThreadLocal<ReceivedTasks> CURRENT = ThreadLocal.withInitial(ReceivedTasks::new);
+
+	private long receivedAtNanos;
+	private int count;
+
+	private ReceivedTasks() {
+		count = -1;
+	}
+
+	/**
+	 * Records that the current thread just received the specified number of tasks.
+	 */
+	static void record(int count) {
+		ReceivedTasks current = CURRENT.get();
+		current.receivedAtNanos = System.nanoTime();
+		current.count = count;
+	}
+
+	/**
+	 * Clears the current thread's record.
+	 */
+	static void clear() {
+		CURRENT.get().count = -1;
+	}
+
+	/**
+	 * @return whether the current thread recorded received tasks since its record was last {@link #clear() cleared}
+	 */
+	static boolean recorded() {
+		return CURRENT.get().count >= 0;
+	}
+
+	/**
+	 * @return when the current thread {@link #record(int) recorded} received tasks (as {@link System#nanoTime()})
+	 */
+	static long receivedAtNanos() {
+		return CURRENT.get().receivedAtNanos;
+	}
+
+	/**
+	 * @return how many tasks the current thread {@link #record(int) recorded}
+	 */
+	static int count() {
+		return CURRENT.get().count;
+	}
+
+}
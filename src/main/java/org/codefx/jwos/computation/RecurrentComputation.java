@@ -1,18 +1,34 @@
 package org.codefx.jwos.computation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A computation that runs once per period.
+ * <p>
+ * The period is measured from the start of one run to the start of the next, so a run that takes longer than the
+ * period is followed by the next one right away. Each call to {@link #compute()} runs once and then sleeps for the
+ * rest of the period. If the computation throws an exception, it is logged and the next run takes place as planned.
+ */
 public class RecurrentComputation implements Computation {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger("Computation");
+
 	private final String name;
 	private final Compute compute;
-	private final int sleepTimeInMs;
+	private final long periodInNanos;
 
-	public RecurrentComputation(String name, Compute compute, int sleepTimeInMs) {
-		this.name = name;
-		this.sleepTimeInMs = sleepTimeInMs;
+	public RecurrentComputation(String name, Compute compute, Duration period) {
+		this.name = requireNonNull(name, "The argument 'name' must not be null.");
 		this.compute = requireNonNull(compute, "The argument 'compute' must not be null.");
+		requireNonNull(period, "The argument 'period' must not be null.");
+		if (period.isNegative() || period.isZero())
+			throw new IllegalArgumentException("The argument 'period' must be positive but was " + period + ".");
+		this.periodInNanos = period.toNanos();
 	}
 
 	@Override
@@ -22,10 +38,21 @@ public class RecurrentComputation implements Computation {
 
 	@Override
 	public void compute() throws InterruptedException {
+		long start = System.nanoTime();
 		try {
 			compute.compute();
+		} catch (InterruptedException ex) {
+			throw ex;
 		} catch (Exception ex) {
-			ex.printStackTrace();
+			LOGGER.error("Computation '" + name + "' failed.", ex);
 		}
+		sleepForRestOfPeriod(start);
 	}
+
+	private void sleepForRestOfPeriod(long start) throws InterruptedException {
+		long remainingNanos = periodInNanos - (System.nanoTime() - start);
+		if (remainingNanos > 0)
+			Thread.sleep(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+	}
+
 }
@@ -0,0 +1,12 @@
+package org.codefx.jwos.computation;
+
+@FunctionalInterface
+public interface ReportExhaustion {
+
+	void exhausted();
+
+	static ReportExhaustion ignoreExhaustion() {
+		return () -> { };
+	}
+
+}
@@ -42,6 +42,7 @@ public class TaskComputation<T, R> implements Computation {
 	@Override
 	public void compute() throws InterruptedException {
 		T task = receive.receive();
+		ReceivedTasks.record(1);
 		try {
 			R result = compute.compute(task);
 			sendResult.send(result);
@@ -33,6 +33,7 @@ public class TaskSink<T> implements Computation {
 	@Override
 	public void compute() throws InterruptedException {
 		T task = receive.receive();
+		ReceivedTasks.record(1);
 		try {
 			compute.compute(task);
 		} catch (Exception ex) {
@@ -1,6 +1,7 @@
 package org.codefx.jwos.computation;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Objects.requireNonNull;
 
@@ -10,6 +11,7 @@ import static java.util.Objects.requireNonNull;
  *     <li>try to {@link ComputeTask perform} a new task (e.g. read a new project form a web service)
  *     <li>send the {@link SendResult result} or {@link SendError error} (e.g. the project coordinates or exception)
  * </ol>
+ * Once the source is exhausted, this is {@link ReportExhaustion reported} exactly once.
  *
  * @param <R> the type of the task's result if successful
  */
@@ -19,12 +21,25 @@ public class TaskSource<R> implements Computation {
 	private final ComputeTask<Void, Optional<R>> compute;
 	private final SendResult<R> sendResult;
 	private final SendError<Void> sendError;
+	private final ReportExhaustion reportExhaustion;
+	private final AtomicBoolean exhausted;
 
-	public TaskSource(String name, ComputeTask<Void, Optional<R>> compute, SendResult<R> sendResult, SendError<Void> sendError) {
+	public TaskSource(
+			String name,
+			ComputeTask<Void, Optional<R>> compute,
+			SendResult<R> sendResult,
+			SendError<Void> sendError,
+			ReportExhaustion reportExhaustion) {
 		this.name = requireNonNull(name, "The argument 'name' must not be null.");
 		this.compute = requireNonNull(compute, "The argument 'compute' must not be null.");
 		this.sendResult = requireNonNull(sendResult, "The argument 'sendResult' must not be null.");
 		this.sendError = requireNonNull(sendError, "The argument 'sendError' must not be null.");
+		this.reportExhaustion = requireNonNull(reportExhaustion, "The argument 'reportExhaustion' must not be null.");
+		this.exhausted = new AtomicBoolean(false);
+	}
+
+	public TaskSource(String name, ComputeTask<Void, Optional<R>> compute, SendResult<R> sendResult, SendError<Void> sendError) {
+		this(name, compute, sendResult, sendError, ReportExhaustion.ignoreExhaustion());
 	}
 
 	@Override
@@ -37,9 +52,12 @@ public class TaskSource<R> implements Computation {
 		Optional<R> result = computeNextResult();
 		if (result.isPresent())
 			sendResult.send(result.get());
-		else
-			// the source is exhausted 
+		else {
+			// the source is exhausted
+			if (exhausted.compareAndSet(false, true))
+				reportExhaustion.exhausted();
 			throw new InterruptedException("This is a hack to report an exhausted source.");
+		}
 	}
 
 	private Optional<R> computeNextResult() throws InterruptedException {
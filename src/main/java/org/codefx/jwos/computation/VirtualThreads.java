@@ -0,0 +1,55 @@
+package org.codefx.jwos.computation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executors that run each task on a new virtual thread if the running JVM supports them (Java 21+).
+ * <p>
+ * The project is compiled for Java 8, so the factory method is looked up reflectively.
+ */
+class VirtualThreads {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Computation Executor");
+
+	private static final Optional<Method> NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findFactoryMethod();
+
+	private VirtualThreads() {
+		// static utility class
+	}
+
+	private static Optional<Method> findFactoryMethod() {
+		try {
+			return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+		} catch (NoSuchMethodException ex) {
+			return Optional.empty();
+		}
+	}
+
+	public static boolean available() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent();
+	}
+
+	/**
+	 * @return an executor that starts a new virtual thread per task; empty if virtual threads are not available
+	 */
+	public static Optional<ExecutorService> newPerTaskExecutor() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.flatMap(VirtualThreads::invoke);
+	}
+
+	private static Optional<ExecutorService> invoke(Method factory) {
+		try {
+			return Optional.of((ExecutorService) factory.invoke(null));
+		} catch (IllegalAccessException | InvocationTargetException ex) {
+			LOGGER.warn("Creating an executor for virtual threads failed.", ex);
+			return Optional.empty();
+		}
+	}
+
+}
@@ -0,0 +1,370 @@
+package org.codefx.jwos.file;
+
+import org.codefx.jwos.analysis.AnalysisPersistence;
+import org.codefx.jwos.artifact.AnalyzedArtifact;
+import org.codefx.jwos.artifact.ArtifactCoordinates;
+import org.codefx.jwos.artifact.CompletedArtifact;
+import org.codefx.jwos.artifact.DownloadedArtifact;
+import org.codefx.jwos.artifact.FailedArtifact;
+import org.codefx.jwos.artifact.FailedProject;
+import org.codefx.jwos.artifact.ProjectCoordinates;
+import org.codefx.jwos.artifact.ResolvedArtifact;
+import org.codefx.jwos.artifact.ResolvedProject;
+import org.codefx.jwos.file.persistence.PersistentAnalysis;
+import org.codefx.jwos.file.persistence.PersistentAnalyzedArtifact;
+import org.codefx.jwos.file.persistence.PersistentCompletedArtifact;
+import org.codefx.jwos.file.persistence.PersistentDownloadedArtifact;
+import org.codefx.jwos.file.persistence.PersistentFailedArtifact;
+import org.codefx.jwos.file.persistence.PersistentFailedProject;
+import org.codefx.jwos.file.persistence.PersistentProjectCoordinates;
+import org.codefx.jwos.file.persistence.PersistentResolvedArtifact;
+import org.codefx.jwos.file.persistence.PersistentResolvedProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link AnalysisPersistence} that keeps a YAML snapshot of the results and records everything that was added
+ * since in an append-only {@link ResultJournal journal}.
+ * <p>
+ * Adding a result only serializes that result, so regularly {@link #commit() committing} the journal costs time
+ * proportional to the number of new results instead of to all results (as writing the entire
+ * {@link YamlAnalysisPersistence} would). Adding results marks the persistence as dirty and committing a clean one
+ * does nothing, so it can be committed periodically, which coalesces bursts of new results into a single write.
+ * <p>
+ * When the analysis is done, the journal is {@link #compact() compacted} into the snapshot. Opening the persistence
+ * reads the snapshot and replays the journal, so the results of a run that was aborted before compaction are not
+ * lost.
+ * <p>
+ * This class is thread-safe.
+ */
+public class JournalingAnalysisPersistence implements AnalysisPersistence, AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Persistence");
+
+	private static final YamlPersister PERSISTER = new YamlPersister();
+
+	private final Path snapshotFile;
+	private final YamlAnalysisPersistence results;
+	private final ResultJournal journal;
+	private final AtomicBoolean dirty;
+
+	private JournalingAnalysisPersistence(Path snapshotFile, YamlAnalysisPersistence results, ResultJournal journal) {
+		this.snapshotFile = snapshotFile;
+		this.results = results;
+		this.journal = journal;
+		this.dirty = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Reads the results from the specified snapshot and journal and opens the journal to record new results.
+	 *
+	 * @param snapshotFile
+	 * 		the YAML file containing the results as of the last compaction; need not exist
+	 * @param journalFile
+	 * 		the journal containing the results since the last compaction; need not exist
+	 *
+	 * @return a persistence containing the results from snapshot and journal
+	 *
+	 * @throws IOException
+	 * 		if reading snapshot or journal or opening the latter failed
+	 */
+	public static JournalingAnalysisPersistence open(Path snapshotFile, Path journalFile) throws IOException {
+		requireNonNull(snapshotFile, "The argument 'snapshotFile' must not be null.");
+		requireNonNull(journalFile, "The argument 'journalFile' must not be null.");
+
+		PersistentAnalysis persistent = readSnapshot(snapshotFile);
+		long replayedBytes = ResultJournal.replay(journalFile, (kind, payload) -> replay(kind, payload, persistent));
+		if (replayedBytes > 0)
+			LOGGER.info("Replayed {} bytes of results from journal '{}'.", replayedBytes, journalFile);
+		removeDuplicateCompletedArtifacts(persistent);
+
+		return new JournalingAnalysisPersistence(
+				snapshotFile,
+				YamlAnalysisPersistence.from(persistent),
+				ResultJournal.openForAppending(journalFile));
+	}
+
+	private static PersistentAnalysis readSnapshot(Path snapshotFile) throws IOException {
+		if (!Files.exists(snapshotFile))
+			return new PersistentAnalysis();
+		try (InputStream snapshot = Files.newInputStream(snapshotFile)) {
+			PersistentAnalysis persistent = PERSISTER.read(snapshot, PersistentAnalysis.class);
+			return persistent == null ? new PersistentAnalysis() : persistent;
+		}
+	}
+
+	private static void replay(byte kind, byte[] payload, PersistentAnalysis persistent) {
+		RecordKind<?, ?> recordKind = RecordKind.forTag(kind);
+		if (recordKind == null)
+			LOGGER.warn("Ignoring journal record of unknown kind {}.", kind);
+		else
+			recordKind.replay(new String(payload, UTF_8), persistent);
+	}
+
+	private static void removeDuplicateCompletedArtifacts(PersistentAnalysis persistent) {
+		// completed artifacts can occur several times (e.g. in the snapshot and the journal if the process stopped
+		// during compaction) but loading them requires unique coordinates; like the persistence, keep the first
+		Map<ArtifactCoordinates, PersistentCompletedArtifact> uniqueArtifacts = new LinkedHashMap<>();
+		persistent.step_6_completedArtifacts
+				.forEach(artifact -> uniqueArtifacts.putIfAbsent(artifact.coordinates.toArtifact(), artifact));
+		persistent.step_6_completedArtifacts = new ArrayList<>(uniqueArtifacts.values());
+	}
+
+	// #begin COMMIT & COMPACT
+
+	/**
+	 * Writes all results that were added since the last commit to the journal and forces them to disk.
+	 * <p>
+	 * If no results were added since the last commit, this does nothing.
+	 *
+	 * @throws IOException
+	 * 		if writing to the journal failed
+	 */
+	public void commit() throws IOException {
+		if (!dirty.getAndSet(false))
+			return;
+		int written;
+		try {
+			written = journal.commit();
+		} catch (IOException | RuntimeException ex) {
+			// the journal keeps the results pending, so the next commit should try again
+			dirty.set(true);
+			throw ex;
+		}
+		if (written > 0)
+			LOGGER.debug("Committed {} bytes of results to the journal.", written);
+	}
+
+	/**
+	 * Writes all results to the snapshot and clears the journal.
+	 * <p>
+	 * The snapshot is first written to a temporary file, which then replaces the existing snapshot, so there is
+	 * always a complete snapshot on disk. Results that are added concurrently might neither end up in the snapshot nor
+	 * in the journal, so this must only be called when no more results are added, e.g. when the analysis is done.
+	 *
+	 * @throws IOException
+	 * 		if writing the snapshot or clearing the journal failed
+	 */
+	public void compact() throws IOException {
+		// commit first, so that the results are not lost if writing the snapshot fails
+		commit();
+		Path tempFile = Files.createTempFile(
+				snapshotFile.toAbsolutePath().getParent(), snapshotFile.getFileName().toString(), ".tmp");
+		Files.write(tempFile, results.toYaml().getBytes(UTF_8));
+		Files.move(tempFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+		journal.clear();
+	}
+
+	/**
+	 * Commits pending results and closes the journal.
+	 */
+	@Override
+	public void close() throws IOException {
+		journal.close();
+	}
+
+	private <T, P> void record(RecordKind<T, P> kind, T element) {
+		String yaml = PERSISTER.write(kind.toPersistent.apply(element));
+		journal.append(kind.tag, yaml.getBytes(UTF_8));
+		// only mark as dirty after appending, so a concurrent commit can not clear the flag without seeing the record
+		dirty.set(true);
+	}
+
+	// #end COMMIT & COMPACT
+
+	// #begin IMPLEMENTATION OF 'AnalysisPersistence'
+
+	@Override
+	public Collection<ProjectCoordinates> projectsUnmodifiable() {
+		return results.projectsUnmodifiable();
+	}
+
+	@Override
+	public Collection<ResolvedProject> resolvedProjectsUnmodifiable() {
+		return results.resolvedProjectsUnmodifiable();
+	}
+
+	@Override
+	public Collection<FailedProject> projectResolutionErrorsUnmodifiable() {
+		return results.projectResolutionErrorsUnmodifiable();
+	}
+
+	@Override
+	public Collection<DownloadedArtifact> downloadedArtifactsUnmodifiable() {
+		return results.downloadedArtifactsUnmodifiable();
+	}
+
+	@Override
+	public Collection<FailedArtifact> artifactDownloadErrorsUnmodifiable() {
+		return results.artifactDownloadErrorsUnmodifiable();
+	}
+
+	@Override
+	public Collection<AnalyzedArtifact> analyzedArtifactsUnmodifiable() {
+		return results.analyzedArtifactsUnmodifiable();
+	}
+
+	@Override
+	public Collection<FailedArtifact> artifactAnalysisErrorsUnmodifiable() {
+		return results.artifactAnalysisErrorsUnmodifiable();
+	}
+
+	@Override
+	public Collection<ResolvedArtifact> resolvedArtifactsUnmodifiable() {
+		return results.resolvedArtifactsUnmodifiable();
+	}
+
+	@Override
+	public Collection<FailedArtifact> artifactResolutionErrorsUnmodifiable() {
+		return results.artifactResolutionErrorsUnmodifiable();
+	}
+
+	@Override
+	public void addProject(ProjectCoordinates project) {
+		results.addProject(project);
+		record(RecordKind.PROJECT, project);
+	}
+
+	@Override
+	public void addResolvedProject(ResolvedProject project) {
+		results.addResolvedProject(project);
+		record(RecordKind.RESOLVED_PROJECT, project);
+	}
+
+	@Override
+	public void addProjectResolutionError(FailedProject project) {
+		results.addProjectResolutionError(project);
+		record(RecordKind.PROJECT_RESOLUTION_ERROR, project);
+	}
+
+	@Override
+	public void addDownloadedArtifact(DownloadedArtifact artifact) {
+		results.addDownloadedArtifact(artifact);
+		record(RecordKind.DOWNLOADED_ARTIFACT, artifact);
+	}
+
+	@Override
+	public void addDownloadError(FailedArtifact artifact) {
+		results.addDownloadError(artifact);
+		record(RecordKind.DOWNLOAD_ERROR, artifact);
+	}
+
+	@Override
+	public void addAnalyzedArtifact(AnalyzedArtifact artifact) {
+		results.addAnalyzedArtifact(artifact);
+		record(RecordKind.ANALYZED_ARTIFACT, artifact);
+	}
+
+	@Override
+	public void addAnalysisError(FailedArtifact artifact) {
+		results.addAnalysisError(artifact);
+		record(RecordKind.ANALYSIS_ERROR, artifact);
+	}
+
+	@Override
+	public void addResolvedArtifact(ResolvedArtifact artifact) {
+		results.addResolvedArtifact(artifact);
+		record(RecordKind.RESOLVED_ARTIFACT, artifact);
+	}
+
+	@Override
+	public void addArtifactResolutionError(FailedArtifact artifact) {
+		results.addArtifactResolutionError(artifact);
+		record(RecordKind.ARTIFACT_RESOLUTION_ERROR, artifact);
+	}
+
+	@Override
+	public void addResult(CompletedArtifact artifact) {
+		results.addResult(artifact);
+		record(RecordKind.RESULT, artifact);
+	}
+
+	// #end IMPLEMENTATION OF 'AnalysisPersistence'
+
+	/**
+	 * The kinds of records in the journal; each record's payload is the YAML representation of a persistent element.
+	 * <p>
+	 * The tags are written to the journal, so they must not change.
+	 */
+	private static class RecordKind<T, P> {
+
+		static final RecordKind<ProjectCoordinates, PersistentProjectCoordinates> PROJECT = new RecordKind<>(
+				1, PersistentProjectCoordinates.class, PersistentProjectCoordinates::from,
+				analysis -> analysis.step_1_projects);
+		static final RecordKind<ResolvedProject, PersistentResolvedProject> RESOLVED_PROJECT = new RecordKind<>(
+				2, PersistentResolvedProject.class, PersistentResolvedProject::from,
+				analysis -> analysis.step_2_resolvedProjects);
+		static final RecordKind<FailedProject, PersistentFailedProject> PROJECT_RESOLUTION_ERROR = new RecordKind<>(
+				3, PersistentFailedProject.class, PersistentFailedProject::from,
+				analysis -> analysis.step_2_resolutionFailedProjects);
+		static final RecordKind<DownloadedArtifact, PersistentDownloadedArtifact> DOWNLOADED_ARTIFACT = new RecordKind<>(
+				4, PersistentDownloadedArtifact.class, PersistentDownloadedArtifact::from,
+				analysis -> analysis.step_3_downloadedArtifacts);
+		static final RecordKind<FailedArtifact, PersistentFailedArtifact> DOWNLOAD_ERROR = new RecordKind<>(
+				5, PersistentFailedArtifact.class, PersistentFailedArtifact::from,
+				analysis -> analysis.step_3_downloadFailedArtifacts);
+		static final RecordKind<AnalyzedArtifact, PersistentAnalyzedArtifact> ANALYZED_ARTIFACT = new RecordKind<>(
+				6, PersistentAnalyzedArtifact.class, PersistentAnalyzedArtifact::from,
+				analysis -> analysis.step_4_analyzedArtifacts);
+		static final RecordKind<FailedArtifact, PersistentFailedArtifact> ANALYSIS_ERROR = new RecordKind<>(
+				7, PersistentFailedArtifact.class, PersistentFailedArtifact::from,
+				analysis -> analysis.step_4_analysisFailedArtifacts);
+		static final RecordKind<ResolvedArtifact, PersistentResolvedArtifact> RESOLVED_ARTIFACT = new RecordKind<>(
+				8, PersistentResolvedArtifact.class, PersistentResolvedArtifact::from,
+				analysis -> analysis.step_5_resolvedArtifacts);
+		static final RecordKind<FailedArtifact, PersistentFailedArtifact> ARTIFACT_RESOLUTION_ERROR = new RecordKind<>(
+				9, PersistentFailedArtifact.class, PersistentFailedArtifact::from,
+				analysis -> analysis.step_5_resolutionFailedArtifacts);
+		static final RecordKind<CompletedArtifact, PersistentCompletedArtifact> RESULT = new RecordKind<>(
+				10, PersistentCompletedArtifact.class, PersistentCompletedArtifact::from,
+				analysis -> analysis.step_6_completedArtifacts);
+
+		private static final RecordKind<?, ?>[] BY_TAG = {
+				null, PROJECT, RESOLVED_PROJECT, PROJECT_RESOLUTION_ERROR, DOWNLOADED_ARTIFACT, DOWNLOAD_ERROR,
+				ANALYZED_ARTIFACT, ANALYSIS_ERROR, RESOLVED_ARTIFACT, ARTIFACT_RESOLUTION_ERROR, RESULT };
+
+		final byte tag;
+		final Class<P> persistentType;
+		final Function<T, P> toPersistent;
+		final Function<PersistentAnalysis, List<P>> persistentList;
+
+		private RecordKind(
+				int tag,
+				Class<P> persistentType,
+				Function<T, P> toPersistent,
+				Function<PersistentAnalysis, List<P>> persistentList) {
+			this.tag = (byte) tag;
+			this.persistentType = persistentType;
+			this.toPersistent = toPersistent;
+			this.persistentList = persistentList;
+		}
+
+		static RecordKind<?, ?> forTag(byte tag) {
+			return 0 < tag && tag < BY_TAG.length ? BY_TAG[tag] : null;
+		}
+
+		void replay(String yaml, PersistentAnalysis analysis) {
+			P persistent = PERSISTER.read(yaml, persistentType);
+			persistentList.apply(analysis).add(persistent);
+		}
+
+	}
+
+}
@@ -0,0 +1,289 @@
+package org.codefx.jwos.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An append-only file of binary records.
+ * <p>
+ * Each record is framed by its length and a checksum, so a record that was only partially written (e.g. because the
+ * process was killed) is detected when {@link #replay(Path, RecordConsumer) replaying} the file and the journal is
+ * truncated to the last complete record when it is {@link #openForAppending(Path) opened}.
+ * <p>
+ * Appended records are buffered in memory until they are {@link #commit() committed}, which writes all of them and
+ * forces them to disk at once. This group commit makes appending cheap and bounds the number of {@code fsync}s
+ * by how often {@code commit} is called. If a commit fails, the journal is cut back to the end of the last committed
+ * record (so a partially written record does not hide the ones that follow it) and the records remain pending, so the
+ * next commit tries to write them again.
+ * <p>
+ * This class is thread-safe.
+ */
+class ResultJournal implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Persistence");
+
+	/**
+	 * The length of a record's header: payload length (int), checksum (int), kind (byte).
+	 */
+	private static final int HEADER_LENGTH = 9;
+	private static final int MAX_PAYLOAD_LENGTH = 64 * 1024 * 1024;
+
+	private final Object appendLock = new Object();
+	private final Object commitLock = new Object();
+
+	private final FileChannel channel;
+
+	// guarded by 'appendLock'
+	private ByteArrayOutputStream pending;
+	private DataOutputStream pendingRecords;
+
+	// visible for testing
+	ResultJournal(FileChannel channel) {
+		this.channel = channel;
+		resetPending();
+	}
+
+	/**
+	 * Opens the specified journal for appending records; if the file does not exist, it is created.
+	 * <p>
+	 * If the journal ends with an incomplete record, it is truncated to the last complete one.
+	 *
+	 * @param file
+	 * 		the journal file
+	 *
+	 * @return a journal
+	 *
+	 * @throws IOException
+	 * 		if the file could not be opened or read
+	 */
+	public static ResultJournal openForAppending(Path file) throws IOException {
+		requireNonNull(file, "The argument 'file' must not be null.");
+		long validLength = replay(file, (kind, payload) -> { });
+		FileChannel channel = FileChannel.open(file, CREATE, WRITE);
+		if (channel.size() > validLength) {
+			LOGGER.warn("Discarding the incomplete record at the end of journal '{}'.", file);
+			channel.truncate(validLength);
+		}
+		channel.position(validLength);
+		return new ResultJournal(channel);
+	}
+
+	/**
+	 * Hands each complete record in the specified journal to the specified consumer.
+	 * <p>
+	 * Reading stops at the first incomplete or corrupt record.
+	 *
+	 * @param file
+	 * 		the journal file; if it does not exist, no records are replayed
+	 * @param consumer
+	 * 		the consumer for the records
+	 *
+	 * @return the length of the complete records in bytes
+	 *
+	 * @throws IOException
+	 * 		if the file could not be read
+	 */
+	public static long replay(Path file, RecordConsumer consumer) throws IOException {
+		requireNonNull(file, "The argument 'file' must not be null.");
+		requireNonNull(consumer, "The argument 'consumer' must not be null.");
+		if (!Files.exists(file))
+			return 0;
+
+		long validLength = 0;
+		try (InputStream fileStream = Files.newInputStream(file);
+				DataInputStream records = new DataInputStream(new BufferedInputStream(fileStream))) {
+			while (true) {
+				int payloadLength;
+				try {
+					payloadLength = records.readInt();
+				} catch (EOFException ex) {
+					// the file ended after a complete record
+					return validLength;
+				}
+				try {
+					if (payloadLength < 0 || payloadLength > MAX_PAYLOAD_LENGTH)
+						return warnOfCorruptRecord(file, validLength);
+					int checksum = records.readInt();
+					byte kind = records.readByte();
+					byte[] payload = new byte[payloadLength];
+					records.readFully(payload);
+					if (checksum != checksum(kind, payload, 0, payloadLength))
+						return warnOfCorruptRecord(file, validLength);
+
+					consumer.accept(kind, payload);
+					validLength += HEADER_LENGTH + payloadLength;
+				} catch (EOFException ex) {
+					return warnOfCorruptRecord(file, validLength);
+				}
+			}
+		}
+	}
+
+	private static long warnOfCorruptRecord(Path file, long validLength) {
+		LOGGER.warn("Journal '{}' contains an incomplete or corrupt record at byte {}; it and all following records "
+				+ "are ignored.", file, validLength);
+		return validLength;
+	}
+
+	private static int checksum(byte kind, byte[] payload, int offset, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(kind);
+		crc.update(payload, offset, length);
+		return (int) crc.getValue();
+	}
+
+	// #begin APPEND & COMMIT
+
+	/**
+	 * Appends a record to the journal.
+	 * <p>
+	 * The record is only written to the file on the next {@link #commit()}.
+	 *
+	 * @param kind
+	 * 		the record's kind, which the journal does not interpret
+	 * @param payload
+	 * 		the record's payload
+	 */
+	public void append(byte kind, byte[] payload) {
+		requireNonNull(payload, "The argument 'payload' must not be null.");
+		if (payload.length > MAX_PAYLOAD_LENGTH)
+			throw new IllegalArgumentException(
+					"Records must not exceed " + MAX_PAYLOAD_LENGTH + " bytes but this one has " + payload.length + ".");
+
+		int checksum = checksum(kind, payload, 0, payload.length);
+		synchronized (appendLock) {
+			try {
+				pendingRecords.writeInt(payload.length);
+				pendingRecords.writeInt(checksum);
+				pendingRecords.writeByte(kind);
+				pendingRecords.write(payload);
+			} catch (IOException ex) {
+				// writing to a 'ByteArrayOutputStream' does not fail
+				throw new RuntimeIOException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Writes all records that were appended since the last commit and forces them to disk.
+	 * <p>
+	 * If this fails, the records remain pending.
+	 *
+	 * @return the number of bytes that were written
+	 *
+	 * @throws IOException
+	 * 		if writing to the journal failed
+	 */
+	public int commit() throws IOException {
+		synchronized (commitLock) {
+			byte[] records;
+			synchronized (appendLock) {
+				if (pending.size() == 0)
+					return 0;
+				records = pending.toByteArray();
+				// records that are appended while these are written must not wait for the commit to complete
+				resetPending();
+			}
+			long committedLength = channel.position();
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(records);
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+				channel.force(false);
+				return records.length;
+			} catch (IOException | RuntimeException ex) {
+				rollBack(committedLength, ex);
+				restorePending(records);
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Cuts the journal back to the specified length, so a partially written record does not end up between complete
+	 * ones, where it would make {@link #replay(Path, RecordConsumer) replay} stop.
+	 */
+	private void rollBack(long committedLength, Exception commitFailure) {
+		try {
+			// even if truncating fails, the next commit overwrites the partial record with the same bytes
+			channel.position(committedLength);
+			channel.truncate(committedLength);
+		} catch (IOException ex) {
+			commitFailure.addSuppressed(ex);
+		}
+	}
+
+	private void restorePending(byte[] records) {
+		synchronized (appendLock) {
+			byte[] appendedMeanwhile = pending.toByteArray();
+			resetPending();
+			pending.write(records, 0, records.length);
+			pending.write(appendedMeanwhile, 0, appendedMeanwhile.length);
+		}
+	}
+
+	/**
+	 * Removes all records from the journal, including those that were not yet committed.
+	 * <p>
+	 * This is used after the records were compacted into a snapshot.
+	 *
+	 * @throws IOException
+	 * 		if truncating the journal failed
+	 */
+	public void clear() throws IOException {
+		synchronized (commitLock) {
+			synchronized (appendLock) {
+				resetPending();
+			}
+			channel.truncate(0);
+			channel.force(true);
+		}
+	}
+
+	private void resetPending() {
+		pending = new ByteArrayOutputStream(8 * 1024);
+		pendingRecords = new DataOutputStream(pending);
+	}
+
+	// #end APPEND & COMMIT
+
+	/**
+	 * Commits pending records and closes the journal.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			commit();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Consumes the records of a journal.
+	 */
+	@FunctionalInterface
+	interface RecordConsumer {
+
+		void accept(byte kind, byte[] payload) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,126 @@
+package org.codefx.jwos.file;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.file.persistence.PersistentAnalysisCache;
+import org.codefx.jwos.file.persistence.PersistentCachedAnalysis;
+import org.codefx.jwos.jdeps.cache.AnalysisCache;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link AnalysisCache} that uses YAML to persist its entries across runs.
+ * <p>
+ * The cache records the {@link org.codefx.jwos.jdeps.ArtifactAnalyzer#identity() identity} of the analyzer whose
+ * results it contains. When it is loaded for a different analyzer, the persisted entries are discarded because
+ * different analyzers can report the same violation differently.
+ * <p>
+ * This implementation is thread-safe.
+ */
+public class YamlAnalysisCache implements AnalysisCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Persistence");
+
+	private static final YamlPersister PERSISTER = new YamlPersister();
+
+	private final String analyzer;
+	// sorted, so the YAML file does not change needlessly from one run to the next
+	private final SortedMap<String, ImmutableSet<Violation>> violationsByHash = new ConcurrentSkipListMap<>();
+
+	// CREATION & PERSISTENCE
+
+	private YamlAnalysisCache(String analyzer) {
+		// private constructor to enforce use of static factory methods
+		this.analyzer = requireNonNull(analyzer, "The argument 'analyzer' must not be null.");
+	}
+
+	/**
+	 * @param analyzer
+	 * 		the identity of the analyzer whose results will be cached
+	 */
+	public static YamlAnalysisCache empty(String analyzer) {
+		return new YamlAnalysisCache(analyzer);
+	}
+
+	/**
+	 * @param yamlString
+	 * 		the persisted cache
+	 * @param analyzer
+	 * 		the identity of the analyzer whose results will be cached; if the persisted cache was created by another
+	 * 		analyzer, its entries are discarded
+	 */
+	public static YamlAnalysisCache fromString(String yamlString, String analyzer) {
+		if (yamlString.isEmpty())
+			return empty(analyzer);
+
+		PersistentAnalysisCache persistent = PERSISTER.read(yamlString, PersistentAnalysisCache.class);
+		return from(persistent, analyzer);
+	}
+
+	/**
+	 * @param yamlStream
+	 * 		the persisted cache
+	 * @param analyzer
+	 * 		the identity of the analyzer whose results will be cached; if the persisted cache was created by another
+	 * 		analyzer, its entries are discarded
+	 */
+	public static YamlAnalysisCache fromStream(InputStream yamlStream, String analyzer) {
+		LOGGER.debug("Parsing analysis cache...");
+		PersistentAnalysisCache persistent = PERSISTER.read(yamlStream, PersistentAnalysisCache.class);
+		if (persistent == null)
+			return empty(analyzer);
+		else
+			return from(persistent, analyzer);
+	}
+
+	private static YamlAnalysisCache from(PersistentAnalysisCache persistent, String analyzer) {
+		YamlAnalysisCache yaml = new YamlAnalysisCache(analyzer);
+		if (!analyzer.equals(persistent.analyzer)) {
+			LOGGER.warn("Discarding the analysis cache because it was created by analyzer '{}' instead of '{}'.",
+					persistent.analyzer, analyzer);
+			return yaml;
+		}
+		persistent.analyses.forEach(analysis -> yaml.violationsByHash.put(analysis.sha1, analysis.toViolations()));
+		return yaml;
+	}
+
+	public String toYaml() {
+		PersistentAnalysisCache persistent = new PersistentAnalysisCache();
+		persistent.analyzer = analyzer;
+		persistent.analyses = violationsByHash.entrySet().stream()
+				.map(entry -> PersistentCachedAnalysis.from(entry.getKey(), entry.getValue()))
+				.collect(toList());
+		return PERSISTER.write(persistent);
+	}
+
+	// IMPLEMENTATION OF 'AnalysisCache'
+
+	@Override
+	public Optional<ImmutableSet<Violation>> get(String contentHash) {
+		requireNonNull(contentHash, "The argument 'contentHash' must not be null.");
+		return Optional.ofNullable(violationsByHash.get(contentHash));
+	}
+
+	@Override
+	public void put(String contentHash, ImmutableSet<Violation> violations) {
+		requireNonNull(contentHash, "The argument 'contentHash' must not be null.");
+		requireNonNull(violations, "The argument 'violations' must not be null.");
+		violationsByHash.put(contentHash, violations);
+	}
+
+	/**
+	 * @return the number of cached analyses
+	 */
+	public int size() {
+		return violationsByHash.size();
+	}
+
+}
@@ -92,7 +92,7 @@ public class YamlAnalysisPersistence implements AnalysisPersistence {
 			return from(persistent);
 	}
 
-	private static YamlAnalysisPersistence from(PersistentAnalysis persistent) {
+	static YamlAnalysisPersistence from(PersistentAnalysis persistent) {
 		YamlAnalysisPersistence yaml = new YamlAnalysisPersistence();
 		addTo(persistent.step_1_projects, PersistentProjectCoordinates::toProject, yaml.projects);
 		addTo(persistent.step_2_resolvedProjects, PersistentResolvedProject::toProject, yaml.resolvedProjects);
@@ -11,6 +11,7 @@ import org.codefx.jwos.artifact.ProjectCoordinates;
 import org.codefx.jwos.artifact.ResolvedArtifact;
 import org.codefx.jwos.artifact.ResolvedProject;
 import org.codefx.jwos.file.persistence.PersistentAnalysis;
+import org.codefx.jwos.file.persistence.PersistentAnalysisCache;
 import org.codefx.jwos.file.persistence.PersistentAnalyzedArtifact;
 import org.codefx.jwos.file.persistence.PersistentArtifactCoordinates;
 import org.codefx.jwos.file.persistence.PersistentCompletedArtifact;
@@ -47,7 +48,8 @@ class YamlPersister {
 			// the fully qualified class name is used, which is fragile. So an explicit tag is defined for that class.
 			// But _if_ tags are given, they are always used so by specifying tags for all types, the resulting file
 			// gets very cluttered.
-			new TypeDescription(PersistentAnalysis.class, "!persistent_analysis")
+			new TypeDescription(PersistentAnalysis.class, "!persistent_analysis"),
+			new TypeDescription(PersistentAnalysisCache.class, "!analysis_cache")
 	);
 
 	private final Representer representer;
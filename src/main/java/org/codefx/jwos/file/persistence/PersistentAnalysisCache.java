@@ -0,0 +1,11 @@
+package org.codefx.jwos.file.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PersistentAnalysisCache {
+
+	public String analyzer;
+	public List<PersistentCachedAnalysis> analyses = new ArrayList<>();
+
+}
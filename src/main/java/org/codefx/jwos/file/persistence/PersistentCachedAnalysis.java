@@ -0,0 +1,30 @@
+package org.codefx.jwos.file.persistence;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.jdeps.dependency.Violation;
+
+import java.util.List;
+
+import static org.codefx.jwos.Util.transformToImmutableSet;
+import static org.codefx.jwos.Util.transformToList;
+
+public class PersistentCachedAnalysis {
+
+	public String sha1;
+	public List<PersistentViolation> violations;
+
+	public static PersistentCachedAnalysis from(String sha1, ImmutableSet<Violation> violations) {
+		PersistentCachedAnalysis persistent = new PersistentCachedAnalysis();
+		persistent.sha1 = sha1;
+		persistent.violations = transformToList(violations, PersistentViolation::from);
+		return persistent;
+	}
+
+	public ImmutableSet<Violation> toViolations() {
+		// empty lists are not written to YAML, so they are read as null
+		if (violations == null)
+			return ImmutableSet.of();
+		return transformToImmutableSet(violations, PersistentViolation::toViolation);
+	}
+
+}
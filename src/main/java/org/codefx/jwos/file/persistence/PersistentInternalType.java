@@ -1,6 +1,7 @@
 package org.codefx.jwos.file.persistence;
 
 import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.TypePool;
 
 public class PersistentInternalType extends PersistentType {
 
@@ -16,7 +17,7 @@ public class PersistentInternalType extends PersistentType {
 	}
 
 	public InternalType toType() {
-		return InternalType.of(className, category, source);
+		return TypePool.shared().internalType(className, category, source);
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.codefx.jwos.file.persistence;
 
 import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.TypePool;
 
 public class PersistentType {
 
@@ -13,7 +14,7 @@ public class PersistentType {
 	}
 
 	public Type toType() {
-		return Type.of(className);
+		return TypePool.shared().type(className);
 	}
 
 }
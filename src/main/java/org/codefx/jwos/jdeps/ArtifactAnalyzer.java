@@ -0,0 +1,59 @@
+package org.codefx.jwos.jdeps;
+
+import com.google.common.collect.ImmutableList;
+import org.codefx.jwos.artifact.AnalyzedArtifact;
+import org.codefx.jwos.artifact.DownloadedArtifact;
+
+import java.util.List;
+
+/**
+ * Analyzes artifacts for dependencies on JDK-internal API.
+ *
+ * @see JDeps
+ * @see org.codefx.jwos.jdeps.scan.BytecodeScanner BytecodeScanner
+ */
+public interface ArtifactAnalyzer {
+
+	/**
+	 * Analyzes the specified artifact.
+	 *
+	 * @param artifact
+	 * 		the artifact to analyze
+	 * @return the analyzed artifact
+	 * @throws Exception
+	 * 		if the analysis failed
+	 */
+	AnalyzedArtifact analyze(DownloadedArtifact artifact) throws Exception;
+
+	/**
+	 * Analyzes the specified artifacts.
+	 * <p>
+	 * The default implementation analyzes them one by one; implementations can override this if a batch can be
+	 * analyzed more efficiently.
+	 *
+	 * @param artifacts
+	 * 		the artifacts to analyze
+	 * @return the analyzed artifacts in the same order as the specified ones
+	 * @throws Exception
+	 * 		if the analysis of any artifact failed
+	 */
+	default ImmutableList<AnalyzedArtifact> analyze(List<DownloadedArtifact> artifacts) throws Exception {
+		ImmutableList.Builder<AnalyzedArtifact> analyzed = ImmutableList.builder();
+		for (DownloadedArtifact artifact : artifacts)
+			analyzed.add(analyze(artifact));
+		return analyzed.build();
+	}
+
+	/**
+	 * Identifies this analyzer, so results it reported can be told apart from those of other analyzers (e.g. in a
+	 * persisted cache).
+	 * <p>
+	 * The default implementation returns the class' name.
+	 *
+	 * @return this analyzer's identity
+	 */
+	default String identity() {
+		return getClass().getName();
+	}
+
+}
@@ -1,35 +1,57 @@
 package org.codefx.jwos.jdeps;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.codefx.jwos.artifact.AnalyzedArtifact;
 import org.codefx.jwos.artifact.DownloadedArtifact;
 import org.codefx.jwos.jdeps.dependency.Violation;
-import org.codefx.jwos.jdeps.exec.JdkInternalsExecutor;
-import org.codefx.jwos.jdeps.parse.ViolationParser;
+import org.codefx.jwos.jdeps.exec.InProcessJdkInternalsExecutor;
+import org.codefx.jwos.jdeps.exec.JdkInternalsRunner;
+import org.codefx.jwos.jdeps.parse.ArchiveOutputSplitter;
+import org.codefx.jwos.jdeps.parse.ScanningViolationParser;
 import org.codefx.jwos.jdeps.search.ComposedJDepsSearch;
 import org.codehaus.plexus.util.cli.CommandLineException;
 
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
 
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 /**
  * Internal API for communication with JDeps.
  * <p>
- * Can analyze individual artifacts and return the parsed results.
+ * Can analyze individual artifacts or batches of them and return the parsed results. Analyzing a batch only starts
+ * one JDeps process, which saves the considerable startup costs of the JVM it runs in.
  * <p>
- * This class is thread-safe and when used concurrently will start a separate JDeps run for each artifact.
+ * If the running JVM offers JDeps as a tool, {@link #JDeps()} runs it in process and streams its output directly into
+ * the parser; otherwise it falls back to forking the JDeps executable.
+ * <p>
+ * This class is thread-safe and when used concurrently will start a separate JDeps run for each call.
  */
-public class JDeps {
+public class JDeps implements ArtifactAnalyzer {
 
-	private final Path jdeps;
+	private final JdkInternalsRunner jdeps;
 
-	public JDeps(Path jdeps) {
+	public JDeps(JdkInternalsRunner jdeps) {
 		this.jdeps = requireNonNull(jdeps, "The argument 'jdeps' must not be null.");
 	}
 
+	public JDeps(Path jdeps) {
+		this(JdkInternalsRunner.forking(requireNonNull(jdeps, "The argument 'jdeps' must not be null.")));
+	}
+
 	public JDeps() {
-		this(findJDeps());
+		this(InProcessJdkInternalsExecutor
+				.find()
+				.<JdkInternalsRunner>map(inProcess -> inProcess)
+				.orElseGet(() -> JdkInternalsRunner.forking(findJDeps())));
 	}
 
 	private static Path findJDeps() {
@@ -38,12 +60,68 @@ public class JDeps {
 				.orElseThrow(() -> new IllegalStateException("Could not find JDeps executable."));
 	}
 
+	@Override
 	public AnalyzedArtifact analyze(DownloadedArtifact artifact) throws CommandLineException {
 		ImmutableSet.Builder<Violation> violations = ImmutableSet.builder();
-		ViolationParser violationParser = new ViolationParser(violations::add);
-		new JdkInternalsExecutor(jdeps, artifact.path(), violationParser::parseLine).execute();
+		ScanningViolationParser violationParser = new ScanningViolationParser(violations::add);
+		jdeps.execute(singletonList(artifact.path()), violationParser::parseLine);
 		violationParser.finish();
 		return new AnalyzedArtifact(artifact.coordinates(), violations.build());
 	}
 
+	/**
+	 * Analyzes the specified artifacts in a single JDeps run.
+	 * <p>
+	 * If the run fails, no artifact is analyzed; callers can fall back to {@link #analyze(DownloadedArtifact)
+	 * analyzing them individually} to find out which ones caused the failure.
+	 *
+	 * @param artifacts
+	 * 		the artifacts to analyze; their file names must be unique because JDeps identifies them by name
+	 * @return the analyzed artifacts in the same order as the specified ones
+	 * @throws CommandLineException
+	 * 		if running JDeps failed
+	 */
+	@Override
+	public ImmutableList<AnalyzedArtifact> analyze(List<DownloadedArtifact> artifacts) throws CommandLineException {
+		Map<String, ArtifactAnalysis> analyses = new LinkedHashMap<>();
+		for (DownloadedArtifact artifact : artifacts) {
+			String fileName = artifact.path().getFileName().toString();
+			if (analyses.put(fileName, new ArtifactAnalysis(artifact)) != null)
+				throw new IllegalArgumentException(
+						"Artifacts analyzed in one batch must have unique file names but '" + fileName + "' is not.");
+		}
+
+		ArchiveOutputSplitter splitter = new ArchiveOutputSplitter(analyses.entrySet().stream()
+				.collect(toMap(Map.Entry::getKey, analysis -> analysis.getValue().parser::parseLine)));
+		List<Path> paths = artifacts.stream().map(DownloadedArtifact::path).collect(toList());
+		jdeps.execute(paths, splitter::splitLine);
+
+		return analyses.values().stream()
+				.map(ArtifactAnalysis::finish)
+				.collect(toImmutableList());
+	}
+
+	private static <T> Collector<T, ?, ImmutableList<T>> toImmutableList() {
+		return collectingAndThen(toList(), ImmutableList::copyOf);
+	}
+
+	private static class ArtifactAnalysis {
+
+		private final DownloadedArtifact artifact;
+		private final ImmutableSet.Builder<Violation> violations;
+		private final ScanningViolationParser parser;
+
+		ArtifactAnalysis(DownloadedArtifact artifact) {
+			this.artifact = artifact;
+			this.violations = ImmutableSet.builder();
+			this.parser = new ScanningViolationParser(violations::add);
+		}
+
+		AnalyzedArtifact finish() {
+			parser.finish();
+			return new AnalyzedArtifact(artifact.coordinates(), violations.build());
+		}
+
+	}
+
 }
@@ -0,0 +1,33 @@
+package org.codefx.jwos.jdeps.cache;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.jdeps.dependency.Violation;
+
+import java.util.Optional;
+
+/**
+ * Caches the results of analyzing JARs by the {@link ContentHash hash of their content}.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface AnalysisCache {
+
+	/**
+	 * @param contentHash
+	 * 		the hash of a JAR's content
+	 *
+	 * @return the violations found in the JAR with the specified hash if it was analyzed before
+	 */
+	Optional<ImmutableSet<Violation>> get(String contentHash);
+
+	/**
+	 * Caches the violations found in the JAR with the specified hash.
+	 *
+	 * @param contentHash
+	 * 		the hash of a JAR's content
+	 * @param violations
+	 * 		the violations found in the JAR
+	 */
+	void put(String contentHash, ImmutableSet<Violation> violations);
+
+}
@@ -0,0 +1,98 @@
+package org.codefx.jwos.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.artifact.AnalyzedArtifact;
+import org.codefx.jwos.artifact.DownloadedArtifact;
+import org.codefx.jwos.jdeps.ArtifactAnalyzer;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link ArtifactAnalyzer} that only analyzes artifacts whose JARs were not analyzed before.
+ * <p>
+ * Many artifacts are byte-identical to others (e.g. because they were relocated), so the results are cached by the
+ * {@link ContentHash hash of the JAR's content}. If the cache is persisted across runs, it must be discarded when the
+ * analyzer changes because different analyzers can report the same violation differently; to that end, this
+ * analyzer's {@link #identity() identity} is that of the analyzer it delegates to.
+ * <p>
+ * This class is thread-safe. Identical JARs that are analyzed concurrently may be analyzed more than once.
+ */
+public class CachingArtifactAnalyzer implements ArtifactAnalyzer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("Analysis Cache");
+
+	private final ArtifactAnalyzer analyzer;
+	private final AnalysisCache cache;
+
+	public CachingArtifactAnalyzer(ArtifactAnalyzer analyzer, AnalysisCache cache) {
+		this.analyzer = requireNonNull(analyzer, "The argument 'analyzer' must not be null.");
+		this.cache = requireNonNull(cache, "The argument 'cache' must not be null.");
+	}
+
+	@Override
+	public String identity() {
+		return analyzer.identity();
+	}
+
+	@Override
+	public AnalyzedArtifact analyze(DownloadedArtifact artifact) throws Exception {
+		String hash = ContentHash.of(artifact.path());
+		Optional<ImmutableSet<Violation>> cached = cache.get(hash);
+		if (cached.isPresent()) {
+			LOGGER.debug("Found cached analysis of {} ({}).", artifact.coordinates(), hash);
+			return new AnalyzedArtifact(artifact.coordinates(), cached.get());
+		}
+
+		AnalyzedArtifact analyzed = analyzer.analyze(artifact);
+		cache.put(hash, analyzed.violations());
+		return analyzed;
+	}
+
+	/**
+	 * Analyzes the artifacts that were not analyzed before in one batch and takes the results of the others from the
+	 * cache.
+	 */
+	@Override
+	public ImmutableList<AnalyzedArtifact> analyze(List<DownloadedArtifact> artifacts) throws Exception {
+		List<String> hashes = new ArrayList<>(artifacts.size());
+		Map<String, ImmutableSet<Violation>> violationsByHash = new HashMap<>();
+		Map<String, DownloadedArtifact> uncachedByHash = new LinkedHashMap<>();
+		for (DownloadedArtifact artifact : artifacts) {
+			String hash = ContentHash.of(artifact.path());
+			hashes.add(hash);
+			Optional<ImmutableSet<Violation>> cached = cache.get(hash);
+			if (cached.isPresent())
+				violationsByHash.put(hash, cached.get());
+			else
+				// identical JARs in the same batch only need to be analyzed once
+				uncachedByHash.putIfAbsent(hash, artifact);
+		}
+
+		if (!uncachedByHash.isEmpty()) {
+			Iterator<String> uncachedHashes = uncachedByHash.keySet().iterator();
+			for (AnalyzedArtifact analyzed : analyzer.analyze(new ArrayList<>(uncachedByHash.values()))) {
+				String hash = uncachedHashes.next();
+				cache.put(hash, analyzed.violations());
+				violationsByHash.put(hash, analyzed.violations());
+			}
+		}
+
+		ImmutableList.Builder<AnalyzedArtifact> analyzed = ImmutableList.builder();
+		for (int i = 0; i < artifacts.size(); i++)
+			analyzed.add(new AnalyzedArtifact(artifacts.get(i).coordinates(), violationsByHash.get(hashes.get(i))));
+		return analyzed.build();
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.codefx.jwos.jdeps.cache;
+
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Determines the SHA-1 hash of a JAR's content.
+ * <p>
+ * Maven repositories store the hash of each file next to it (e.g. {@code foo.jar.sha1}), so if such a file exists, the
+ * hash is read from it. Otherwise it is computed.
+ */
+public class ContentHash {
+
+	private static final Pattern SHA1_PATTERN = Pattern.compile("[0-9a-f]{40}");
+
+	private ContentHash() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	/**
+	 * @param jar
+	 * 		the path to a JAR
+	 *
+	 * @return the lower case, hexadecimal SHA-1 hash of the JAR's content
+	 *
+	 * @throws IOException
+	 * 		if neither the hash file nor the JAR could be read
+	 */
+	public static String of(Path jar) throws IOException {
+		requireNonNull(jar, "The argument 'jar' must not be null.");
+		Optional<String> hash = readHashFile(jar.resolveSibling(jar.getFileName() + ".sha1"));
+		if (hash.isPresent())
+			return hash.get();
+		return computeHash(jar);
+	}
+
+	private static Optional<String> readHashFile(Path hashFile) throws IOException {
+		if (!Files.isRegularFile(hashFile))
+			return Optional.empty();
+		List<String> lines = Files.readAllLines(hashFile, US_ASCII);
+		if (lines.isEmpty())
+			return Optional.empty();
+		// some tools append the file name to the hash
+		String hash = lines.get(0).trim().split("\\s+")[0].toLowerCase();
+		return SHA1_PATTERN.matcher(hash).matches()
+				? Optional.of(hash)
+				: Optional.empty();
+	}
+
+	private static String computeHash(Path jar) throws IOException {
+		return com.google.common.io.Files.hash(jar.toFile(), Hashing.sha1()).toString();
+	}
+
+}
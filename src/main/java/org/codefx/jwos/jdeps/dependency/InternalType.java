@@ -10,6 +10,11 @@ import static java.util.Objects.requireNonNull;
  */
 public final class InternalType extends Type {
 
+	/**
+	 * The source of internal types for which JDeps does not report one, e.g. "JDK removed internal API".
+	 */
+	public static final String NO_SOURCE = "";
+
 	private final String category;
 	private final String source;
 
@@ -62,7 +67,7 @@ public final class InternalType extends Type {
 	}
 
 	/**
-	 * @return the source of this internal dependency as reported by JDeps (e.g. "rt.jar")
+	 * @return the source of this internal dependency as reported by JDeps (e.g. "rt.jar") or {@link #NO_SOURCE}
 	 */
 	public String getSource() {
 		return source;
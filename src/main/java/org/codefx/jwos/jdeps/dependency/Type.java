@@ -7,6 +7,8 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * A simple textual representation of a type consisting of the package and the class name.
+ * <p>
+ * Where many types are created from external input, they should be {@link TypePool interned}.
  */
 public class Type implements Comparable<Type> {
 
@@ -16,6 +18,7 @@ public class Type implements Comparable<Type> {
 
 	private final String packageName;
 	private final String className;
+	private final int hashCode;
 
 	/**
 	 * Creates a new type.
@@ -33,6 +36,9 @@ public class Type implements Comparable<Type> {
 			throw new IllegalArgumentException("The argument 'packageName' must not be empty.");
 		if (className.isEmpty())
 			throw new IllegalArgumentException("The argument 'className' must not be empty.");
+
+		// types are compared a lot (e.g. when collected in sets), so the hash code is computed only once
+		this.hashCode = Objects.hash(packageName, className);
 	}
 
 	/**
@@ -115,13 +121,14 @@ public class Type implements Comparable<Type> {
 			return false;
 
 		Type other = (Type) obj;
-		return Objects.equals(this.packageName, other.packageName)
+		return this.hashCode == other.hashCode
+				&& Objects.equals(this.packageName, other.packageName)
 				&& Objects.equals(this.className, other.className);
 	}
 
 	@Override
 	public final int hashCode() {
-		return Objects.hash(packageName, className);
+		return hashCode;
 	}
 
 	@Override
@@ -0,0 +1,162 @@
+package org.codefx.jwos.jdeps.dependency;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Interns {@link Type}s, {@link InternalType}s, and the strings they consist of, so that equal instances created
+ * from different sources (e.g. the same internal dependency reported for thousands of artifacts) share the same memory.
+ * <p>
+ * Types and strings are interned weakly, so the pool does not keep alive what is no longer used elsewhere. Internal
+ * types are interned strongly because there are few of them (the JDK only has so many internal APIs) and because
+ * {@link Type#equals(Object) equality} does not consider their category and source, which is why they can not share
+ * an interner with other types.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TypePool {
+
+	private static final TypePool SHARED = new TypePool();
+
+	private final Interner<String> strings;
+	private final Interner<Type> types;
+	private final ConcurrentMap<InternalTypeKey, InternalType> internalTypes;
+
+	/**
+	 * Creates a new, empty pool. Usually, the {@link #shared() shared pool} should be used instead.
+	 */
+	public TypePool() {
+		strings = Interners.newWeakInterner();
+		types = Interners.newWeakInterner();
+		internalTypes = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return the pool that is shared across the application
+	 */
+	public static TypePool shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Returns an interned type for the specified package and class name.
+	 *
+	 * @param packageName
+	 * 		the name of the package containing the type (dotted)
+	 * @param className
+	 * 		the name of the type's class (dotted)
+	 *
+	 * @return an interned type
+	 */
+	public Type type(String packageName, String className) {
+		return types.intern(new Type(strings.intern(packageName), className));
+	}
+
+	/**
+	 * Returns an interned type for the specified fully qualified class name.
+	 *
+	 * @param qualifiedClassName
+	 * 		the fully qualified name of the type's class (dotted)
+	 *
+	 * @return an interned type
+	 */
+	public Type type(String qualifiedClassName) {
+		Type type = Type.of(qualifiedClassName);
+		return type(type.getPackageName(), type.getClassName());
+	}
+
+	/**
+	 * Returns an interned internal type for the specified arguments.
+	 *
+	 * @param packageName
+	 * 		the name of the package containing the type (dotted)
+	 * @param className
+	 * 		the name of the type's class (dotted)
+	 * @param category
+	 * 		the category as reported by JDeps (e.g. "JDK internal API")
+	 * @param source
+	 * 		the source as reported by JDeps (e.g. "rt.jar")
+	 *
+	 * @return an interned internal type
+	 */
+	public InternalType internalType(String packageName, String className, String category, String source) {
+		InternalTypeKey key = new InternalTypeKey(packageName, className, category, source);
+		InternalType internalType = internalTypes.get(key);
+		if (internalType != null)
+			return internalType;
+
+		InternalType newInternalType = InternalType.of(
+				strings.intern(packageName), className, strings.intern(category), strings.intern(source));
+		internalType = internalTypes.putIfAbsent(key, newInternalType);
+		return internalType == null ? newInternalType : internalType;
+	}
+
+	/**
+	 * Returns an interned internal type for the specified arguments.
+	 *
+	 * @param qualifiedClassName
+	 * 		the fully qualified name of the type's class (dotted)
+	 * @param category
+	 * 		the category as reported by JDeps (e.g. "JDK internal API")
+	 * @param source
+	 * 		the source as reported by JDeps (e.g. "rt.jar")
+	 *
+	 * @return an interned internal type
+	 */
+	public InternalType internalType(String qualifiedClassName, String category, String source) {
+		Type type = Type.of(qualifiedClassName);
+		return internalType(type.getPackageName(), type.getClassName(), category, source);
+	}
+
+	/**
+	 * @return the number of interned internal types
+	 */
+	int internalTypeCount() {
+		return internalTypes.size();
+	}
+
+	private static final class InternalTypeKey {
+
+		private final String packageName;
+		private final String className;
+		private final String category;
+		private final String source;
+		private final int hashCode;
+
+		InternalTypeKey(String packageName, String className, String category, String source) {
+			this.packageName = requireNonNull(packageName, "The argument 'packageName' must not be null.");
+			this.className = requireNonNull(className, "The argument 'className' must not be null.");
+			this.category = requireNonNull(category, "The argument 'category' must not be null.");
+			this.source = requireNonNull(source, "The argument 'source' must not be null.");
+			this.hashCode = Objects.hash(packageName, className, category, source);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof InternalTypeKey))
+				return false;
+
+			InternalTypeKey other = (InternalTypeKey) obj;
+			return hashCode == other.hashCode
+					&& packageName.equals(other.packageName)
+					&& className.equals(other.className)
+					&& category.equals(other.category)
+					&& source.equals(other.source);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+}
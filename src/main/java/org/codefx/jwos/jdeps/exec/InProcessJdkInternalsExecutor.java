@@ -0,0 +1,96 @@
+package org.codefx.jwos.jdeps.exec;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Executes "jdeps -jdkinternals" in the running JVM via {@code java.util.spi.ToolProvider}, which avoids the costs of
+ * starting a new process (and JVM) for each run. The output is streamed to the consumer line by line.
+ * <p>
+ * {@code ToolProvider} exists since Java 9 but this project is compiled for Java 8, so it is accessed reflectively.
+ * If it is not available (or there is no JDeps tool), {@link #find()} returns an empty {@code Optional} and callers
+ * should fall back to the {@link StreamingJdkInternalsExecutor forking executor}.
+ * <p>
+ * This class is thread-safe.
+ */
+public class InProcessJdkInternalsExecutor implements JdkInternalsRunner {
+
+	private final Object jDepsTool;
+	private final Method run;
+
+	private InProcessJdkInternalsExecutor(Object jDepsTool, Method run) {
+		this.jDepsTool = jDepsTool;
+		this.run = run;
+	}
+
+	/**
+	 * @return an executor if the running JVM offers JDeps as a tool provider
+	 */
+	public static Optional<InProcessJdkInternalsExecutor> find() {
+		try {
+			Class<?> toolProvider = Class.forName("java.util.spi.ToolProvider");
+			Optional<?> jDeps = (Optional<?>) toolProvider.getMethod("findFirst", String.class).invoke(null, "jdeps");
+			Method run = toolProvider.getMethod("run", PrintStream.class, PrintStream.class, String[].class);
+			return jDeps.map(tool -> new InProcessJdkInternalsExecutor(tool, run));
+		} catch (ReflectiveOperationException ex) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Executes jdeps.
+	 *
+	 * @param artifactsToAnalyze
+	 * 		the paths to the artifacts which jdeps will scan; must not be empty
+	 * @param jDepsOutputConsumer
+	 * 		consumer of jdeps' output (line by line)
+	 * @throws CommandLineException
+	 * 		if running jdeps failed or the tool returned with an error
+	 */
+	@Override
+	public void execute(Collection<Path> artifactsToAnalyze, Consumer<String> jDepsOutputConsumer)
+			throws CommandLineException {
+		Objects.requireNonNull(artifactsToAnalyze, "The argument 'artifactsToAnalyze' must not be null.");
+		Objects.requireNonNull(jDepsOutputConsumer, "The argument 'jDepsOutputConsumer' must not be null.");
+		if (artifactsToAnalyze.isEmpty())
+			throw new IllegalArgumentException("The argument 'artifactsToAnalyze' must not be empty.");
+
+		String[] arguments = createArguments(artifactsToAnalyze);
+		ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+		LineConsumingOutputStream output = new LineConsumingOutputStream(StandardCharsets.UTF_8, jDepsOutputConsumer);
+		int exitCode;
+		try (PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name());
+				PrintStream err = new PrintStream(errorOutput, true, StandardCharsets.UTF_8.name())) {
+			exitCode = (int) run.invoke(jDepsTool, out, err, arguments);
+		} catch (UnsupportedEncodingException | IllegalAccessException ex) {
+			throw new CommandLineException("Running JDeps in process failed.", ex);
+		} catch (InvocationTargetException ex) {
+			throw new CommandLineException("JDeps failed with an exception.", ex.getCause());
+		}
+		if (exitCode != 0)
+			throw new CommandLineException("JDeps returned with exit code '" + exitCode + "'.\n"
+					+ "\t Arguments: " + String.join(" ", arguments) + "\n"
+					+ "\t Error output:\n" + new String(errorOutput.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	private static String[] createArguments(Collection<Path> artifactsToAnalyze) {
+		String[] arguments = new String[artifactsToAnalyze.size() + 1];
+		arguments[0] = "-jdkinternals";
+		int index = 1;
+		for (Path artifact : artifactsToAnalyze)
+			arguments[index++] = artifact.toAbsolutePath().toString();
+		return arguments;
+	}
+
+}
@@ -0,0 +1,33 @@
+package org.codefx.jwos.jdeps.exec;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Runs "jdeps -jdkinternals" on artifacts and hands the output to a consumer, line by line.
+ */
+@FunctionalInterface
+public interface JdkInternalsRunner {
+
+	/**
+	 * Returns a runner that forks a new JDeps process for each run and streams its output.
+	 *
+	 * @param jDepsExecutable
+	 * 		path to the JDeps executable
+	 * @see StreamingJdkInternalsExecutor
+	 */
+	static JdkInternalsRunner forking(Path jDepsExecutable) {
+		return new StreamingJdkInternalsExecutor(jDepsExecutable);
+	}
+
+	/**
+	 * @throws CommandLineException
+	 * 		if running jdeps failed or the tool returned with an error
+	 */
+	void execute(Collection<Path> artifactsToAnalyze, Consumer<String> jDepsOutputConsumer)
+			throws CommandLineException;
+
+}
@@ -0,0 +1,43 @@
+package org.codefx.jwos.jdeps.exec;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.function.Consumer;
+
+/**
+ * An output stream that decodes the written bytes and hands each complete line to a {@link Consumer}.
+ * <p>
+ * Line terminators are not part of the handed over lines. A last line without terminator is handed over on
+ * {@link #close()}.
+ */
+class LineConsumingOutputStream extends OutputStream {
+
+	private final LineDecoder decoder;
+	private final byte[] singleByte;
+	private boolean closed;
+
+	LineConsumingOutputStream(Charset charset, Consumer<String> lineConsumer) {
+		this.decoder = new LineDecoder(charset, lineConsumer);
+		this.singleByte = new byte[1];
+	}
+
+	@Override
+	public void write(int b) {
+		singleByte[0] = (byte) b;
+		decoder.decode(singleByte, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) {
+		decoder.decode(bytes, offset, length);
+	}
+
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		decoder.finish();
+	}
+
+}
@@ -0,0 +1,118 @@
+package org.codefx.jwos.jdeps.exec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Decodes bytes into lines and hands each complete line to a {@link Consumer}.
+ * <p>
+ * The byte and char buffers as well as the builder for the current line are reused, so apart from the lines themselves
+ * decoding allocates no memory. Multi-byte characters may be split across several calls. Line terminators
+ * ({@code \n} or {@code \r\n}) are not part of the handed over lines. A last line without terminator is handed over on
+ * {@link #finish()}; after that, the decoder must no longer be used.
+ * <p>
+ * This class is not thread-safe.
+ */
+class LineDecoder {
+
+	private static final int BUFFER_SIZE = 8 * 1024;
+
+	private final CharsetDecoder decoder;
+	private final Consumer<String> lineConsumer;
+
+	private final ByteBuffer bytes;
+	private final CharBuffer chars;
+	private final StringBuilder currentLine;
+
+	LineDecoder(Charset charset, Consumer<String> lineConsumer) {
+		this.decoder = Objects.requireNonNull(charset, "The argument 'charset' must not be null.")
+				.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.lineConsumer = Objects.requireNonNull(lineConsumer, "The argument 'lineConsumer' must not be null.");
+		this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+		this.chars = CharBuffer.allocate(BUFFER_SIZE);
+		this.currentLine = new StringBuilder(256);
+	}
+
+	/**
+	 * Reads bytes from the specified channel once and decodes them.
+	 *
+	 * @return the number of bytes read, possibly zero, or -1 if the channel reached the end of the stream
+	 *
+	 * @throws IOException
+	 * 		if reading from the channel fails
+	 */
+	int readFrom(ReadableByteChannel channel) throws IOException {
+		int read = channel.read(bytes);
+		decodeBytes(false);
+		return read;
+	}
+
+	/**
+	 * Decodes the specified bytes.
+	 */
+	void decode(byte[] input, int offset, int length) {
+		int end = offset + length;
+		while (offset < end) {
+			int chunk = Math.min(end - offset, bytes.remaining());
+			bytes.put(input, offset, chunk);
+			offset += chunk;
+			decodeBytes(false);
+		}
+	}
+
+	/**
+	 * Decodes the remaining bytes and hands over the last line if it is not empty.
+	 */
+	void finish() {
+		decodeBytes(true);
+		while (decoder.flush(chars).isOverflow())
+			consumeChars();
+		consumeChars();
+		if (currentLine.length() > 0)
+			emitLine();
+	}
+
+	private void decodeBytes(boolean endOfInput) {
+		bytes.flip();
+		// on overflow the char buffer is full and needs to be consumed before decoding can continue
+		while (decoder.decode(bytes, chars, endOfInput).isOverflow())
+			consumeChars();
+		consumeChars();
+		// an incomplete multi-byte character may remain, which will be decoded once the remaining bytes arrive
+		bytes.compact();
+	}
+
+	private void consumeChars() {
+		chars.flip();
+		char[] array = chars.array();
+		int lineStart = chars.position();
+		int end = chars.limit();
+		for (int i = lineStart; i < end; i++)
+			if (array[i] == '\n') {
+				currentLine.append(array, lineStart, i - lineStart);
+				emitLine();
+				lineStart = i + 1;
+			}
+		currentLine.append(array, lineStart, end - lineStart);
+		chars.clear();
+	}
+
+	private void emitLine() {
+		int length = currentLine.length();
+		if (length > 0 && currentLine.charAt(length - 1) == '\r')
+			length--;
+		String line = currentLine.substring(0, length);
+		currentLine.setLength(0);
+		lineConsumer.accept(line);
+	}
+
+}
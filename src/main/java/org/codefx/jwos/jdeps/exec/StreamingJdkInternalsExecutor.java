@@ -0,0 +1,159 @@
+package org.codefx.jwos.jdeps.exec;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Executes "jdeps -jdkinternals" in a new process and streams its output to the consumer line by line.
+ * <p>
+ * The process' output is read from a channel and decoded with reused buffers (see {@link LineDecoder}), so no more
+ * than the individual lines is ever copied. The error output, which is only needed to report failures, is drained on a
+ * separate thread and only its first {@link #MAX_ERROR_OUTPUT_BYTES} bytes are kept.
+ * <p>
+ * This class is thread-safe.
+ */
+public class StreamingJdkInternalsExecutor implements JdkInternalsRunner {
+
+	static final int MAX_ERROR_OUTPUT_BYTES = 16 * 1024;
+
+	private static final ExecutorService ERROR_OUTPUT_READERS = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("jdeps-error-output-%d").setDaemon(true).build());
+
+	private final Path jDepsExecutable;
+
+	/**
+	 * Creates a new executor.
+	 *
+	 * @param jDepsExecutable
+	 * 		path to the JDeps executable
+	 */
+	public StreamingJdkInternalsExecutor(Path jDepsExecutable) {
+		this.jDepsExecutable = Objects.requireNonNull(
+				jDepsExecutable, "The argument 'jDepsExecutable' must not be null.");
+	}
+
+	// #begin EXECUTE JDEPS
+
+	/**
+	 * Executes jdeps.
+	 *
+	 * @param artifactsToAnalyze
+	 * 		the paths to the artifacts which jdeps will scan; must not be empty
+	 * @param jDepsOutputConsumer
+	 * 		consumer of jdeps' output (line by line)
+	 * @throws CommandLineException
+	 * 		if running jdeps failed, the tool returned with an error, or the thread was interrupted
+	 */
+	@Override
+	public void execute(Collection<Path> artifactsToAnalyze, Consumer<String> jDepsOutputConsumer)
+			throws CommandLineException {
+		Objects.requireNonNull(artifactsToAnalyze, "The argument 'artifactsToAnalyze' must not be null.");
+		Objects.requireNonNull(jDepsOutputConsumer, "The argument 'jDepsOutputConsumer' must not be null.");
+		if (artifactsToAnalyze.isEmpty())
+			throw new IllegalArgumentException("The argument 'artifactsToAnalyze' must not be empty.");
+
+		List<String> command = createJDepsCommand(artifactsToAnalyze);
+		Process jDeps = start(command);
+		try {
+			Future<String> errorOutput = ERROR_OUTPUT_READERS.submit(
+					() -> readCapped(jDeps.getErrorStream(), MAX_ERROR_OUTPUT_BYTES));
+			streamLines(jDeps, jDepsOutputConsumer);
+			int exitCode = jDeps.waitFor();
+			if (exitCode != 0)
+				throwCommandLineException(command, exitCode, errorOutput);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CommandLineException("Interrupted while waiting for JDeps.", ex);
+		} finally {
+			jDeps.destroy();
+		}
+	}
+
+	private List<String> createJDepsCommand(Collection<Path> artifactsToAnalyze) {
+		List<String> command = new ArrayList<>(artifactsToAnalyze.size() + 2);
+		command.add(jDepsExecutable.toAbsolutePath().toString());
+		command.add("-jdkinternals");
+		artifactsToAnalyze.forEach(artifact -> command.add(artifact.toAbsolutePath().toString()));
+		return command;
+	}
+
+	private static Process start(List<String> command) throws CommandLineException {
+		try {
+			Process process = new ProcessBuilder(command).start();
+			// JDeps does not read any input
+			process.getOutputStream().close();
+			return process;
+		} catch (IOException ex) {
+			throw new CommandLineException("Could not start JDeps: " + String.join(" ", command), ex);
+		}
+	}
+
+	private static void streamLines(Process jDeps, Consumer<String> jDepsOutputConsumer) throws CommandLineException {
+		// like Plexus, assume that JDeps uses the platform's default charset
+		LineDecoder decoder = new LineDecoder(Charset.defaultCharset(), jDepsOutputConsumer);
+		try (ReadableByteChannel output = Channels.newChannel(jDeps.getInputStream())) {
+			while (decoder.readFrom(output) >= 0) {
+				// keep reading until the end of the stream
+			}
+		} catch (IOException ex) {
+			throw new CommandLineException("Reading the output of JDeps failed.", ex);
+		}
+		decoder.finish();
+	}
+
+	private static void throwCommandLineException(List<String> command, int exitCode, Future<String> errorOutput)
+			throws CommandLineException, InterruptedException {
+		StringBuilder message = new StringBuilder("JDeps returned with exit code '" + exitCode + "'.\n");
+		message.append("\t Executed command: " + String.join(" ", command) + "\n");
+		message.append("\t Error output:\n");
+		try {
+			for (String errorLine : errorOutput.get().split("\\R"))
+				message.append("\t\t " + errorLine + "\n");
+		} catch (ExecutionException ex) {
+			message.append("\t\t (could not be read: " + ex.getCause() + ")\n");
+		}
+
+		throw new CommandLineException(message.toString());
+	}
+
+	// #end EXECUTE JDEPS
+
+	/**
+	 * Reads the specified stream to its end but only keeps the first bytes.
+	 *
+	 * @return the decoded bytes that were kept, followed by a note on how many were discarded (if any)
+	 */
+	static String readCapped(InputStream stream, int maxBytes) throws IOException {
+		ByteArrayOutputStream kept = new ByteArrayOutputStream(Math.min(maxBytes, 1024));
+		long discarded = 0;
+		byte[] buffer = new byte[1024];
+		int read;
+		while ((read = stream.read(buffer)) >= 0) {
+			int keep = Math.min(read, maxBytes - kept.size());
+			kept.write(buffer, 0, keep);
+			discarded += read - keep;
+		}
+		String output = new String(kept.toByteArray(), Charset.defaultCharset());
+		return discarded == 0
+				? output
+				: output + "\n(" + discarded + " more bytes were discarded)";
+	}
+
+}
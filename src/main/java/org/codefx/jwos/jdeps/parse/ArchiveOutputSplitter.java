@@ -0,0 +1,71 @@
+package org.codefx.jwos.jdeps.parse;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Splits the output of a JDeps run over several archives into the lines that belong to each archive.
+ * <p>
+ * JDeps starts the report for each analyzed archive with a header line that names it and the archive it depends on,
+ * e.g.:
+ *
+ * <pre>
+ * guava-19.0.jar -&gt; /usr/lib/jvm/java-8/jre/lib/rt.jar
+ *    com.google.common.base.internal.Finalizer (guava-19.0.jar)
+ *       -&gt; sun.misc.Unsafe       JDK internal API (rt.jar)
+ * </pre>
+ *
+ * All indented lines following such a header are handed to the consumer registered for the named archive. Other
+ * unindented lines (like JDeps' closing warning) end the current archive's report and are dropped, as are lines for
+ * unknown archives.
+ */
+public class ArchiveOutputSplitter {
+
+	private static final String ARCHIVE_HEADER_SEPARATOR = " -> ";
+
+	private final Map<String, Consumer<String>> archiveLineConsumers;
+	private Consumer<String> currentArchive;
+
+	/**
+	 * Creates a new splitter.
+	 *
+	 * @param archiveLineConsumers
+	 * 		maps archive file names (e.g. "guava-19.0.jar") to the consumers of their lines
+	 */
+	public ArchiveOutputSplitter(Map<String, Consumer<String>> archiveLineConsumers) {
+		Objects.requireNonNull(archiveLineConsumers, "The argument 'archiveLineConsumers' must not be null.");
+		this.archiveLineConsumers = ImmutableMap.copyOf(archiveLineConsumers);
+		this.currentArchive = null;
+	}
+
+	/**
+	 * Hands the specified line to the consumer of the archive whose report it belongs to.
+	 *
+	 * @param line
+	 * 		the line to split off
+	 */
+	public void splitLine(String line) {
+		Objects.requireNonNull(line, "The argument 'line' must not be null.");
+
+		if (isIndented(line)) {
+			if (currentArchive != null)
+				currentArchive.accept(line);
+		} else
+			currentArchive = archiveNamedInHeader(line);
+	}
+
+	private static boolean isIndented(String line) {
+		return !line.isEmpty() && Character.isWhitespace(line.charAt(0));
+	}
+
+	private Consumer<String> archiveNamedInHeader(String line) {
+		int separatorIndex = line.indexOf(ARCHIVE_HEADER_SEPARATOR);
+		if (separatorIndex <= 0)
+			return null;
+		return archiveLineConsumers.get(line.substring(0, separatorIndex));
+	}
+
+}
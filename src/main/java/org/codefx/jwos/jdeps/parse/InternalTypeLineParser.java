@@ -1,6 +1,7 @@
 package org.codefx.jwos.jdeps.parse;
 
 import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.TypePool;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -15,6 +16,9 @@ import java.util.regex.Pattern;
  * <pre>
  *       -&gt; package.name.ClassName     category (source)
  * </pre>
+ *
+ * JDeps 9+ reports no source for removed internal APIs, in which case the category must end the line and the type's
+ * source is {@link InternalType#NO_SOURCE}.
  */
 class InternalTypeLineParser {
 
@@ -23,9 +27,8 @@ class InternalTypeLineParser {
 			+ "([a-zA-Z_][\\.\\w]*)" // qualified class name (simplified), e.g. "sun.misc.Unsafe"
 			+ "\\s+" // spaces to fill up the column
 			+ "(\\w[\\w\\s]*\\w*)" // category, e.g. "JDK Internal API"
-			+ "\\s" // space between category and source
-			+ "\\(([\\w\\.]*)\\)" // source, e.g. "(jt.jar)"
-			+ ".*");
+			+ "(?:\\s\\(([\\w\\.]*)\\).*" // space and source, e.g. " (jt.jar)", followed by anything
+			+ "|(?<=\\w)\\s*)"); // or no source, so the category ends the line, e.g. "JDK removed internal API"
 
 	/**
 	 * Indicates whether the specified line is an {@link InternalType}.
@@ -56,9 +59,9 @@ class InternalTypeLineParser {
 
 		String fullyQualifiedClassName = lineMatcher.group(1);
 		String category = lineMatcher.group(2);
-		String source = lineMatcher.group(3);
+		String source = lineMatcher.group(3) == null ? InternalType.NO_SOURCE : lineMatcher.group(3);
 
-		InternalType type = InternalType.of(
+		InternalType type = TypePool.shared().internalType(
 				extractPackageName(fullyQualifiedClassName),
 				extractClassName(fullyQualifiedClassName),
 				category,
@@ -0,0 +1,314 @@
+package org.codefx.jwos.jdeps.parse;
+
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.TypePool;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.codefx.jwos.jdeps.dependency.Violation.ViolationBuilder;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Parses violation blocks from the JDeps output line by line and hands created {@link Violation}s to a
+ * {@link Consumer} that can further process it.
+ * <p>
+ * This parser understands the same formats as the {@link ViolationParser} and creates the same violations but instead
+ * of matching each line against several regular expressions, it scans it once, character by character. Apart from
+ * the strings the created types consist of, this does not allocate any memory and the created types are
+ * {@link TypePool interned}, so those strings are short-lived. The only difference is that input which
+ * would make the {@code ViolationParser} fail is ignored, e.g. a reported type without a package or a block without
+ * dependencies.
+ * <p>
+ * The parser recognizes the following kinds of lines (with {@code <ws>} being one or more whitespace characters):
+ * <ul>
+ * <li>reported type: {@code <ws> package.Type <ws> ...} (JDeps 8)
+ * <li>internal dependency: {@code <ws> -> <ws> package.Type <ws> category <ws>(source)...} (JDeps 8); the source
+ * is missing for removed internal APIs (JDeps 9+), in which case the category ends the line
+ * <li>reported type with internal dependency: {@code <ws> package.Type <ws> -> <ws> package.Type ...} (JDeps 9+);
+ * consecutive lines for the same type are merged into one violation
+ * </ul>
+ * <p>
+ * This class is not thread-safe.
+ */
+public class ScanningViolationParser {
+
+	private final Consumer<Violation> violationConsumer;
+
+	// the block that is currently parsed, if any
+	private Type dependent;
+	private ViolationBuilder violationBuilder;
+	private boolean violationHasDependencies;
+
+	// the parts of the last scanned type name (set by 'scanTypeName')
+	private int typeEnd;
+	private int typeLastDot;
+	private boolean typeHasDollar;
+
+	/**
+	 * Creates a new parser.
+	 *
+	 * @param violationConsumer
+	 * 		the {@link Consumer} to which parsed {@link Violation}s are handed over
+	 */
+	public ScanningViolationParser(Consumer<Violation> violationConsumer) {
+		this.violationConsumer = Objects.requireNonNull(
+				violationConsumer, "The argument 'violationConsumer' must not be null.");
+	}
+
+	// #begin PARSE SUPPORT
+
+	/**
+	 * Parses the specified line.
+	 * <p>
+	 * As soon as a new {@link Violation} is created it is handed to the {@link Consumer} specified during
+	 * construction.
+	 *
+	 * @param line
+	 * 		the line to parse
+	 */
+	public void parseLine(String line) {
+		Objects.requireNonNull(line, "The argument 'line' must not be null.");
+
+		int start = skipWhitespace(line, 0);
+		// all relevant lines are indented
+		if (start == 0 || start == line.length()) {
+			finishViolation();
+			return;
+		}
+
+		if (isArrowAt(line, start))
+			parseDependencyLine(line, start);
+		else
+			parseReportedTypeLine(line, start);
+	}
+
+	/**
+	 * Informs the parser that parsing is done (for now).
+	 * <p>
+	 * If a violation is currently being created, calling this method will build it.
+	 */
+	public void finish() {
+		finishViolation();
+	}
+
+	private void parseDependencyLine(String line, int arrow) {
+		InternalType dependency = parseInternalType(line, arrow);
+		if (dependency != null && violationBuilder != null)
+			addDependency(dependency);
+		else
+			finishViolation();
+	}
+
+	private void parseReportedTypeLine(String line, int typeStart) {
+		if (!scanTypeName(line, typeStart)) {
+			finishViolation();
+			return;
+		}
+		int dependentEnd = typeEnd;
+		int dependentLastDot = typeLastDot;
+		boolean dependentHasDollar = typeHasDollar;
+
+		int afterWhitespace = skipWhitespace(line, dependentEnd);
+		if (afterWhitespace == dependentEnd) {
+			// the type name must be followed by whitespace
+			finishViolation();
+			return;
+		}
+
+		if (isArrowAt(line, afterWhitespace)) {
+			InternalType dependency = parseInternalType(line, afterWhitespace);
+			if (dependency == null) {
+				finishViolation();
+				return;
+			}
+			if (!isCurrentDependent(line, typeStart, dependentLastDot, dependentEnd))
+				startViolation(line, typeStart, dependentLastDot, dependentEnd);
+			addDependency(dependency);
+		} else if (!dependentHasDollar && !containsLineTerminator(line, afterWhitespace))
+			startViolation(line, typeStart, dependentLastDot, dependentEnd);
+		else
+			finishViolation();
+	}
+
+	/**
+	 * Parses an internal dependency of the form {@code -> <ws> package.Type <ws> category <ws>(source)...}. The source
+	 * is missing for types JDeps reports as removed (e.g. "JDK removed internal API"); in that case the category must
+	 * end the line (except for whitespace) and the type's source is {@link InternalType#NO_SOURCE}.
+	 *
+	 * @return the parsed type or null if the line does not have that form
+	 */
+	private InternalType parseInternalType(String line, int arrow) {
+		int typeStart = skipWhitespace(line, arrow + 2);
+		if (typeStart == arrow + 2 || !scanTypeName(line, typeStart) || typeHasDollar)
+			return null;
+		int internalTypeEnd = typeEnd;
+		int internalTypeLastDot = typeLastDot;
+
+		int categoryStart = skipWhitespace(line, internalTypeEnd);
+		if (categoryStart == internalTypeEnd || categoryStart == line.length() || !isWordChar(line.charAt(categoryStart)))
+			return null;
+		// the category consists of word characters and whitespace and ends with the whitespace before '('
+		int openingParenthesis = categoryStart;
+		while (openingParenthesis < line.length() && isWordCharOrWhitespace(line.charAt(openingParenthesis)))
+			openingParenthesis++;
+		if (openingParenthesis == line.length())
+			return parseInternalTypeWithoutSource(line, typeStart, internalTypeLastDot, internalTypeEnd, categoryStart);
+		int categoryEnd = openingParenthesis - 1;
+		if (line.charAt(openingParenthesis) != '('
+				|| categoryEnd <= categoryStart
+				|| !isWhitespace(line.charAt(categoryEnd)))
+			return null;
+
+		int sourceStart = openingParenthesis + 1;
+		int closingParenthesis = sourceStart;
+		while (closingParenthesis < line.length() && isWordCharOrDot(line.charAt(closingParenthesis)))
+			closingParenthesis++;
+		if (closingParenthesis == line.length()
+				|| line.charAt(closingParenthesis) != ')'
+				|| containsLineTerminator(line, closingParenthesis + 1))
+			return null;
+
+		return TypePool.shared().internalType(
+				line.substring(typeStart, internalTypeLastDot),
+				line.substring(internalTypeLastDot + 1, internalTypeEnd),
+				line.substring(categoryStart, categoryEnd),
+				line.substring(sourceStart, closingParenthesis));
+	}
+
+	private static InternalType parseInternalTypeWithoutSource(
+			String line, int typeStart, int internalTypeLastDot, int internalTypeEnd, int categoryStart) {
+		// the category starts with a word character, so trailing whitespace can not reach its start
+		int categoryEnd = line.length();
+		while (isWhitespace(line.charAt(categoryEnd - 1)))
+			categoryEnd--;
+		return TypePool.shared().internalType(
+				line.substring(typeStart, internalTypeLastDot),
+				line.substring(internalTypeLastDot + 1, internalTypeEnd),
+				line.substring(categoryStart, categoryEnd),
+				InternalType.NO_SOURCE);
+	}
+
+	/**
+	 * Scans a type name, which must start with a letter or '_' and consist of word characters, dots, and dollar
+	 * signs. The results are stored in {@link #typeEnd}, {@link #typeLastDot}, and {@link #typeHasDollar}.
+	 *
+	 * @return whether a type name with a package starts at the specified index
+	 */
+	private boolean scanTypeName(String line, int start) {
+		char first = line.charAt(start);
+		if (!isAsciiLetter(first) && first != '_')
+			return false;
+
+		int lastDot = -1;
+		boolean hasDollar = false;
+		int index = start + 1;
+		for (; index < line.length(); index++) {
+			char c = line.charAt(index);
+			if (c == '.')
+				lastDot = index;
+			else if (c == '$')
+				hasDollar = true;
+			else if (!isWordChar(c))
+				break;
+		}
+
+		typeEnd = index;
+		typeLastDot = lastDot;
+		typeHasDollar = hasDollar;
+		// 'Type' requires a package and a class name
+		return lastDot > 0 && lastDot < index - 1;
+	}
+
+	private boolean isCurrentDependent(String line, int start, int lastDot, int end) {
+		if (dependent == null)
+			return false;
+		String packageName = dependent.getPackageName();
+		String className = dependent.getClassName();
+		return packageName.length() == lastDot - start
+				&& className.length() == end - lastDot - 1
+				&& line.regionMatches(start, packageName, 0, packageName.length())
+				&& line.regionMatches(lastDot + 1, className, 0, className.length());
+	}
+
+	private void startViolation(String line, int start, int lastDot, int end) {
+		finishViolation();
+		dependent = TypePool.shared().type(line.substring(start, lastDot), line.substring(lastDot + 1, end));
+		violationBuilder = Violation.buildForDependent(dependent);
+		violationHasDependencies = false;
+	}
+
+	private void addDependency(InternalType dependency) {
+		violationBuilder.addDependency(dependency);
+		violationHasDependencies = true;
+	}
+
+	private void finishViolation() {
+		if (violationBuilder == null)
+			return;
+		ViolationBuilder finishedBuilder = violationBuilder;
+		boolean finishedHasDependencies = violationHasDependencies;
+		dependent = null;
+		violationBuilder = null;
+		// a block without dependencies can not be built into a violation
+		if (finishedHasDependencies)
+			violationConsumer.accept(finishedBuilder.build());
+	}
+
+	// #end PARSE SUPPORT
+
+	// #begin CHARACTERS
+
+	private static int skipWhitespace(String line, int index) {
+		while (index < line.length() && isWhitespace(line.charAt(index)))
+			index++;
+		return index;
+	}
+
+	private static boolean isArrowAt(String line, int index) {
+		return index + 1 < line.length() && line.charAt(index) == '-' && line.charAt(index + 1) == '>';
+	}
+
+	private static boolean containsLineTerminator(String line, int from) {
+		for (int index = from; index < line.length(); index++)
+			if (isLineTerminator(line.charAt(index)))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Whether the character is a whitespace as defined by the regular expression {@code \s}.
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z');
+	}
+
+	/**
+	 * Whether the character is a word character as defined by the regular expression {@code \w}.
+	 */
+	private static boolean isWordChar(char c) {
+		return isAsciiLetter(c) || ('0' <= c && c <= '9') || c == '_';
+	}
+
+	private static boolean isWordCharOrWhitespace(char c) {
+		return isWordChar(c) || isWhitespace(c);
+	}
+
+	private static boolean isWordCharOrDot(char c) {
+		return isWordChar(c) || c == '.';
+	}
+
+	/**
+	 * Whether the character is a line terminator, i.e. not matched by the regular expression {@code .}.
+	 */
+	private static boolean isLineTerminator(char c) {
+		return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+	}
+
+	// #end CHARACTERS
+
+}
@@ -2,6 +2,7 @@ package org.codefx.jwos.jdeps.parse;
 
 import org.codefx.jwos.jdeps.dependency.InternalType;
 import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.TypePool;
 import org.codefx.jwos.jdeps.dependency.Violation;
 import org.codefx.jwos.jdeps.dependency.Violation.ViolationBuilder;
 
@@ -14,6 +15,15 @@ import java.util.regex.Pattern;
 /**
  * Parses violation blocks from the JDeps output line by line and hands created {@link Violation}s to a
  * {@link Consumer} that can further process it.
+ * <p>
+ * Besides the blocks JDeps 8 reports, where each internal dependency is on its own line, this also understands the
+ * single line format of JDeps 9 and later, e.g.:
+ *
+ * <pre>
+ *    org.codefx.lab.App     -&gt; sun.misc.Unsafe     JDK internal API (jdk.unsupported)
+ * </pre>
+ *
+ * Consecutive lines for the same type are merged into one violation.
  */
 public class ViolationParser {
 
@@ -34,6 +44,18 @@ public class ViolationParser {
 			+ "\\s+" // spaces to separate class name
 			+ ".*");
 
+	/**
+	 * Pattern to match a reported type and one of its internal dependencies on the same line (JDeps 9+), e.g.
+	 *
+	 * <pre>
+	 * 	   org.codefx.lab.App     -&gt; sun.misc.Unsafe     JDK internal API (jdk.unsupported)
+	 * </pre>
+	 */
+	private static final Pattern REPORTED_TYPE_WITH_DEPENDENCY_PATTERN = Pattern.compile(""
+			+ "\\s+" // leading spaces
+			+ "([a-zA-Z_][\\.\\w$]*)" // qualified class name (simplified), e.g. "org.codefx.lab.App"
+			+ "(\\s+->\\s+.*)"); // the internal dependency in the format the 'InternalTypeLineParser' expects
+
 	private final InternalTypeLineParser internalTypeLineParser;
 	private final Consumer<Violation> violationConsumer;
 	private LineParserState lineParser;
@@ -91,6 +113,13 @@ public class ViolationParser {
 	}
 
 	private LineParserState determineWhetherNewBlockStarted(String line) {
+		Matcher withDependencyMatcher = REPORTED_TYPE_WITH_DEPENDENCY_PATTERN.matcher(line);
+		if (withDependencyMatcher.matches()) {
+			BlockBegan block = new BlockBegan(withDependencyMatcher.group(1));
+			block.processLine(line);
+			return block;
+		}
+
 		Optional<String> asFirstBlockLine = parseAsFirstBlockLine(line);
 		if (asFirstBlockLine.isPresent())
 			return new BlockBegan(asFirstBlockLine.get());
@@ -143,12 +172,14 @@ public class ViolationParser {
 	 */
 	private class BlockBegan implements LineParserState {
 
+		private final String dependentName;
 		private final ViolationBuilder violationBuilder;
 
 		public BlockBegan(String fullyQualifiedClassName) {
 			assert fullyQualifiedClassName != null : "The argument 'fullyQualifiedClassName' must not be null.";
 
-			Type dependent = Type.of(fullyQualifiedClassName);
+			dependentName = fullyQualifiedClassName;
+			Type dependent = TypePool.shared().type(fullyQualifiedClassName);
 			violationBuilder = Violation.buildForDependent(dependent);
 		}
 
@@ -162,10 +193,22 @@ public class ViolationParser {
 
 		private boolean processLine(String line) {
 			Optional<InternalType> parsedInternalType = internalTypeLineParser.parseLine(line);
+			if (!parsedInternalType.isPresent())
+				parsedInternalType = parseAsDependencyOfThisBlock(line);
 			parsedInternalType.ifPresent(violationBuilder::addDependency);
 			return parsedInternalType.isPresent();
 		}
 
+		private Optional<InternalType> parseAsDependencyOfThisBlock(String line) {
+			Matcher withDependencyMatcher = REPORTED_TYPE_WITH_DEPENDENCY_PATTERN.matcher(line);
+			boolean isDependencyOfThisBlock =
+					withDependencyMatcher.matches() && withDependencyMatcher.group(1).equals(dependentName);
+			if (isDependencyOfThisBlock)
+				return internalTypeLineParser.parseLine(withDependencyMatcher.group(2));
+			else
+				return Optional.empty();
+		}
+
 		private LineParserState computeNextState(String line, boolean lineCouldBeProcessed) {
 			if (lineCouldBeProcessed)
 				return this;
@@ -0,0 +1,242 @@
+package org.codefx.jwos.jdeps.scan;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import org.codefx.jwos.artifact.AnalyzedArtifact;
+import org.codefx.jwos.artifact.DownloadedArtifact;
+import org.codefx.jwos.jdeps.ArtifactAnalyzer;
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.TypePool;
+import org.codefx.jwos.jdeps.dependency.Violation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Analyzes artifacts by scanning their class files' constant pools for references to {@link InternalPackages internal
+ * packages}.
+ * <p>
+ * This is an alternative to {@link org.codefx.jwos.jdeps.JDeps JDeps} that neither forks a process nor runs the JDeps
+ * tool, which makes the analysis purely CPU bound. Because it does not inspect the JDK but only looks at package names,
+ * it reports all internal types with the same category ("JDK internal API") and source ("JDK").
+ * <p>
+ * The class files of large JARs are split across a {@link ForkJoinPool} so a single big artifact (e.g. a fat JAR) can
+ * be analyzed on all cores instead of holding up the analysis of everything that depends on it.
+ * <p>
+ * Many artifacts are analyzed in several versions, most of whose class files do not change from one version to the
+ * next. To only scan changed classes, scanned classes are cached by {@link ClassEntry their entry in the JAR}, which
+ * includes a checksum of the class file. The cache is shared by all analyzed artifacts.
+ * <p>
+ * Types defined in the analyzed JAR are never reported as internal, even if they are in an internal package.
+ * Like JDeps, the scanner ignores versioned entries of multi-release JARs and types in the default package.
+ * <p>
+ * This class is thread-safe.
+ */
+public class BytecodeScanner implements ArtifactAnalyzer {
+
+	private static final String CATEGORY = "JDK internal API";
+	private static final String SOURCE = "JDK";
+
+	/**
+	 * Because only internal references are cached, most entries consist of little more than the class name. A
+	 * project's versions are analyzed at about the same time, so this suffices to cover a few large ones.
+	 */
+	public static final int DEFAULT_CLASS_CACHE_SIZE = 100_000;
+
+	private final InternalPackages internalPackages;
+	private final ForkJoinPool pool;
+	private final Cache<ClassEntry, ScannedClass> scannedClasses;
+
+	/**
+	 * @param internalPackages
+	 * 		the packages whose types are reported as internal
+	 * @param pool
+	 * 		the pool on which the class files of large JARs are scanned
+	 * @param classCacheSize
+	 * 		the maximum number of scanned classes to cache; 0 disables the cache
+	 */
+	public BytecodeScanner(InternalPackages internalPackages, ForkJoinPool pool, int classCacheSize) {
+		this.internalPackages = requireNonNull(internalPackages, "The argument 'internalPackages' must not be null.");
+		this.pool = requireNonNull(pool, "The argument 'pool' must not be null.");
+		if (classCacheSize < 0)
+			throw new IllegalArgumentException("The class cache size must not be negative.");
+		this.scannedClasses = CacheBuilder.newBuilder()
+				.maximumSize(classCacheSize)
+				.recordStats()
+				.build();
+	}
+
+	public BytecodeScanner(InternalPackages internalPackages, ForkJoinPool pool) {
+		this(internalPackages, pool, DEFAULT_CLASS_CACHE_SIZE);
+	}
+
+	public BytecodeScanner(InternalPackages internalPackages) {
+		this(internalPackages, ForkJoinPool.commonPool());
+	}
+
+	public BytecodeScanner() {
+		this(InternalPackages.jdkInternals());
+	}
+
+	@Override
+	public AnalyzedArtifact analyze(DownloadedArtifact artifact) throws IOException {
+		ImmutableSet<Violation> violations = analyze(artifact.path());
+		return new AnalyzedArtifact(artifact.coordinates(), violations);
+	}
+
+	/**
+	 * Analyzes the JAR at the specified path.
+	 *
+	 * @param jar
+	 * 		the path to a JAR
+	 * @return the violations the JAR's classes contain
+	 * @throws IOException
+	 * 		if the JAR could not be read or contains malformed class files
+	 */
+	public ImmutableSet<Violation> analyze(Path jar) throws IOException {
+		requireNonNull(jar, "The argument 'jar' must not be null.");
+		List<ScannedClass> classes = scanClasses(jar);
+		Set<String> definedTypes = classes.stream().map(ScannedClass::name).collect(toSet());
+		return classes.stream()
+				.filter(scannedClass -> scannedClass.name().indexOf('.') > 0)
+				.map(scannedClass -> toViolation(scannedClass, definedTypes))
+				.filter(Objects::nonNull)
+				.sorted()
+				.collect(collectingAndThen(toList(), ImmutableSet::copyOf));
+	}
+
+	private List<ScannedClass> scanClasses(Path jar) throws IOException {
+		try (ZipFile zip = new ZipFile(jar.toFile())) {
+			List<ZipEntry> classEntries = zip.stream()
+					.filter(BytecodeScanner::isAnalyzedClass)
+					.collect(toList());
+			return scanClasses(zip, classEntries);
+		}
+	}
+
+	private List<ScannedClass> scanClasses(ZipFile zip, List<ZipEntry> classEntries) throws IOException {
+		ScanClassesTask scan = new ScanClassesTask(zip, classEntries, this::scanClass);
+		try {
+			// small JARs are scanned by the calling thread so the pool is only used when it pays off
+			return classEntries.size() <= ScanClassesTask.MAX_ENTRIES_PER_TASK
+					? scan.compute()
+					: pool.invoke(scan);
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private static boolean isAnalyzedClass(ZipEntry entry) {
+		String name = entry.getName();
+		return !entry.isDirectory()
+				&& name.endsWith(".class")
+				&& !name.startsWith("META-INF/")
+				&& !name.endsWith("module-info.class");
+	}
+
+	private ScannedClass scanClass(ZipFile zip, ZipEntry entry) throws IOException {
+		Optional<ClassEntry> key = ClassEntry.of(entry);
+		if (key.isPresent()) {
+			ScannedClass cached = scannedClasses.getIfPresent(key.get());
+			if (cached != null)
+				return cached;
+		}
+
+		ScannedClass scanned = readAndScanClass(zip, entry);
+		key.ifPresent(classEntry -> scannedClasses.put(classEntry, scanned));
+		return scanned;
+	}
+
+	private ScannedClass readAndScanClass(ZipFile zip, ZipEntry entry) throws IOException {
+		try (InputStream classFile = zip.getInputStream(entry)) {
+			return ClassFileScanner
+					.scan(ByteStreams.toByteArray(classFile))
+					// only keep what is needed to determine violations, so cached classes take up little memory
+					.withReferencesTo(this::isInternal);
+		}
+	}
+
+	/**
+	 * @return statistics of the cache of scanned classes
+	 */
+	CacheStats classCacheStats() {
+		return scannedClasses.stats();
+	}
+
+	private Violation toViolation(ScannedClass scannedClass, Set<String> definedTypes) {
+		List<InternalType> internalDependencies = scannedClass.referencedTypes().stream()
+				.filter(type -> !definedTypes.contains(type))
+				.filter(this::isInternal)
+				.map(type -> TypePool.shared().internalType(type, CATEGORY, SOURCE))
+				.collect(toList());
+		if (internalDependencies.isEmpty())
+			return null;
+		return Violation.buildFor(TypePool.shared().type(scannedClass.name()), internalDependencies);
+	}
+
+	private boolean isInternal(String type) {
+		int lastDotIndex = type.lastIndexOf('.');
+		return lastDotIndex > 0 && internalPackages.isInternal(type.substring(0, lastDotIndex));
+	}
+
+	/**
+	 * Identifies a class file by the name, size, and CRC-32 checksum of its JAR entry.
+	 * <p>
+	 * All of them are stored in the JAR's central directory, so unchanged classes are recognized without
+	 * decompressing them. The class name is part of the class file and the name of its entry, so it is very unlikely
+	 * that two different class files with the same name also share size and checksum.
+	 */
+	private static final class ClassEntry {
+
+		private final String name;
+		private final long size;
+		private final long crc;
+
+		private ClassEntry(String name, long size, long crc) {
+			this.name = name;
+			this.size = size;
+			this.crc = crc;
+		}
+
+		static Optional<ClassEntry> of(ZipEntry entry) {
+			// size and checksum are unknown for entries that were not read from the central directory
+			if (entry.getSize() < 0 || entry.getCrc() < 0)
+				return Optional.empty();
+			return Optional.of(new ClassEntry(entry.getName(), entry.getSize(), entry.getCrc()));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			ClassEntry other = (ClassEntry) obj;
+			return size == other.size && crc == other.crc && name.equals(other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, size, crc);
+		}
+
+	}
+
+}
@@ -0,0 +1,264 @@
+package org.codefx.jwos.jdeps.scan;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Scans a class file for the types it references.
+ * <p>
+ * The referenced types are collected from the constant pool's class entries, the descriptors of referenced fields and
+ * methods, method types (used by lambdas and method handles), and the descriptors of the class's own fields and
+ * methods. This covers what JDeps reports on class level. Generic signatures and annotations are not scanned because
+ * they do not lead to linkage errors.
+ * <p>
+ * Strings in the constant pool are only decoded if they are needed.
+ */
+class ClassFileScanner {
+
+	private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+	// #begin CONSTANT POOL TAGS
+
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int FLOAT = 4;
+	private static final int LONG = 5;
+	private static final int DOUBLE = 6;
+	private static final int CLASS = 7;
+	private static final int STRING = 8;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int METHOD_HANDLE = 15;
+	private static final int METHOD_TYPE = 16;
+	private static final int DYNAMIC = 17;
+	private static final int INVOKE_DYNAMIC = 18;
+	private static final int MODULE = 19;
+	private static final int PACKAGE = 20;
+
+	// #end CONSTANT POOL TAGS
+
+	private final ByteBuffer classFile;
+	/**
+	 * For each constant pool entry, the position of its first byte after the tag.
+	 */
+	private int[] entryPositions;
+	private byte[] entryTags;
+
+	private final Set<String> referencedTypes;
+
+	private ClassFileScanner(byte[] classFile) {
+		this.classFile = ByteBuffer.wrap(classFile);
+		this.referencedTypes = new HashSet<>();
+	}
+
+	/**
+	 * Scans the specified class file.
+	 *
+	 * @param classFile
+	 * 		the bytes of a class file
+	 *
+	 * @return the scanned class
+	 *
+	 * @throws IOException
+	 * 		if the bytes are no valid class file
+	 */
+	static ScannedClass scan(byte[] classFile) throws IOException {
+		try {
+			return new ClassFileScanner(classFile).scan();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+			throw new IOException("Class file is truncated or malformed.", ex);
+		}
+	}
+
+	private ScannedClass scan() throws IOException {
+		if (classFile.getInt() != CLASS_FILE_MAGIC)
+			throw new IOException("Class file does not start with 0xCAFEBABE.");
+		// minor and major version
+		skip(4);
+		readConstantPool();
+		scanConstantPool();
+
+		// access flags
+		skip(2);
+		String name = toBinaryName(readUtf8(classNameIndex(unsignedShort())));
+		// super class and interfaces
+		skip(2);
+		skip(2 * unsignedShort());
+		scanMembers();
+		scanMembers();
+
+		referencedTypes.remove(name);
+		return new ScannedClass(name, referencedTypes);
+	}
+
+	// #begin CONSTANT POOL
+
+	private void readConstantPool() throws IOException {
+		int count = unsignedShort();
+		entryPositions = new int[count];
+		entryTags = new byte[count];
+		for (int index = 1; index < count; index++) {
+			byte tag = classFile.get();
+			entryTags[index] = tag;
+			entryPositions[index] = classFile.position();
+			skip(entryLength(tag));
+			// longs and doubles take up two entries
+			if (tag == LONG || tag == DOUBLE)
+				index++;
+		}
+	}
+
+	private int entryLength(int tag) throws IOException {
+		switch (tag) {
+			case UTF8:
+				return 2 + Short.toUnsignedInt(classFile.getShort(classFile.position()));
+			case CLASS:
+			case STRING:
+			case METHOD_TYPE:
+			case MODULE:
+			case PACKAGE:
+				return 2;
+			case METHOD_HANDLE:
+				return 3;
+			case INTEGER:
+			case FLOAT:
+			case FIELD_REF:
+			case METHOD_REF:
+			case INTERFACE_METHOD_REF:
+			case NAME_AND_TYPE:
+			case DYNAMIC:
+			case INVOKE_DYNAMIC:
+				return 4;
+			case LONG:
+			case DOUBLE:
+				return 8;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag + ".");
+		}
+	}
+
+	private void scanConstantPool() throws IOException {
+		for (int index = 1; index < entryTags.length; index++)
+			switch (entryTags[index]) {
+				case CLASS:
+					addClassName(readUtf8(unsignedShortAt(entryPositions[index])));
+					break;
+				case NAME_AND_TYPE:
+					addTypesInDescriptor(readUtf8(unsignedShortAt(entryPositions[index] + 2)));
+					break;
+				case METHOD_TYPE:
+					addTypesInDescriptor(readUtf8(unsignedShortAt(entryPositions[index])));
+					break;
+				default:
+					// other entries reference types only via the entries above
+			}
+	}
+
+	private int classNameIndex(int classIndex) throws IOException {
+		checkTag(classIndex, CLASS);
+		return unsignedShortAt(entryPositions[classIndex]);
+	}
+
+	private String readUtf8(int index) throws IOException {
+		checkTag(index, UTF8);
+		int position = entryPositions[index];
+		int length = unsignedShortAt(position);
+		byte[] bytes = classFile.array();
+		int start = position + 2;
+		for (int i = start; i < start + length; i++)
+			if (bytes[i] < 0)
+				return readModifiedUtf8(position);
+		// pure ASCII, which is the common case for type names
+		return new String(bytes, start, length, ISO_8859_1);
+	}
+
+	private String readModifiedUtf8(int position) throws IOException {
+		byte[] bytes = classFile.array();
+		int length = unsignedShortAt(position);
+		return new DataInputStream(new ByteArrayInputStream(bytes, position, length + 2)).readUTF();
+	}
+
+	private void checkTag(int index, int expectedTag) throws IOException {
+		if (index <= 0 || index >= entryTags.length || entryTags[index] != expectedTag)
+			throw new IOException("Constant pool entry " + index + " does not have tag " + expectedTag + ".");
+	}
+
+	// #end CONSTANT POOL
+
+	// #begin MEMBERS
+
+	private void scanMembers() throws IOException {
+		int count = unsignedShort();
+		for (int member = 0; member < count; member++) {
+			// access flags and name
+			skip(4);
+			addTypesInDescriptor(readUtf8(unsignedShort()));
+			skipAttributes();
+		}
+	}
+
+	private void skipAttributes() {
+		int count = unsignedShort();
+		for (int attribute = 0; attribute < count; attribute++) {
+			// name
+			skip(2);
+			skip(classFile.getInt());
+		}
+	}
+
+	// #end MEMBERS
+
+	// #begin TYPE NAMES
+
+	private void addClassName(String internalName) {
+		if (internalName.startsWith("["))
+			addTypesInDescriptor(internalName);
+		else
+			referencedTypes.add(toBinaryName(internalName));
+	}
+
+	private void addTypesInDescriptor(String descriptor) {
+		int typeStart = descriptor.indexOf('L');
+		while (typeStart >= 0) {
+			int typeEnd = descriptor.indexOf(';', typeStart);
+			if (typeEnd < 0)
+				return;
+			referencedTypes.add(toBinaryName(descriptor.substring(typeStart + 1, typeEnd)));
+			typeStart = descriptor.indexOf('L', typeEnd);
+		}
+	}
+
+	private static String toBinaryName(String internalName) {
+		return internalName.replace('/', '.');
+	}
+
+	// #end TYPE NAMES
+
+	// #begin READING
+
+	private int unsignedShort() {
+		return Short.toUnsignedInt(classFile.getShort());
+	}
+
+	private int unsignedShortAt(int position) {
+		return Short.toUnsignedInt(classFile.getShort(position));
+	}
+
+	private void skip(int bytes) {
+		if (bytes < 0 || bytes > classFile.remaining())
+			throw new BufferUnderflowException();
+		classFile.position(classFile.position() + bytes);
+	}
+
+	// #end READING
+
+}
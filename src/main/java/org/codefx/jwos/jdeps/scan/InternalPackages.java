@@ -0,0 +1,88 @@
+package org.codefx.jwos.jdeps.scan;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A set of packages that are considered to be JDK-internal.
+ * <p>
+ * Packages are specified by prefixes, e.g. {@code "sun"}, which match the package itself and all its subpackages
+ * (e.g. {@code sun.misc} but not {@code sunny}). Exported prefixes exempt packages that would otherwise be internal.
+ */
+public final class InternalPackages {
+
+	private static final InternalPackages JDK_INTERNALS = new InternalPackages(
+			ImmutableSet.of("sun", "com.sun", "jdk.internal"),
+			// the 'com.sun' packages that are supported API (see @jdk.Exported in Java 8)
+			ImmutableSet.of(
+					"com.sun.jdi",
+					"com.sun.jarsigner",
+					"com.sun.javadoc",
+					"com.sun.management",
+					"com.sun.net.httpserver",
+					"com.sun.nio.file",
+					"com.sun.nio.sctp",
+					"com.sun.security.auth",
+					"com.sun.security.jgss",
+					"com.sun.source",
+					"com.sun.tools.attach",
+					"com.sun.tools.doclets",
+					"com.sun.tools.jconsole"));
+
+	private final ImmutableSet<String> internalPrefixes;
+	private final ImmutableSet<String> exportedPrefixes;
+
+	private InternalPackages(ImmutableSet<String> internalPrefixes, ImmutableSet<String> exportedPrefixes) {
+		this.internalPrefixes = internalPrefixes;
+		this.exportedPrefixes = exportedPrefixes;
+	}
+
+	/**
+	 * @return the packages JDeps reports as JDK-internal API (approximated by package names)
+	 */
+	public static InternalPackages jdkInternals() {
+		return JDK_INTERNALS;
+	}
+
+	/**
+	 * @param internalPrefixes
+	 * 		the prefixes of the packages that are internal
+	 * @param exportedPrefixes
+	 * 		the prefixes of packages that are not internal even though they match an internal prefix
+	 *
+	 * @return a set of internal packages
+	 */
+	public static InternalPackages of(Collection<String> internalPrefixes, Collection<String> exportedPrefixes) {
+		requireNonNull(internalPrefixes, "The argument 'internalPrefixes' must not be null.");
+		requireNonNull(exportedPrefixes, "The argument 'exportedPrefixes' must not be null.");
+		return new InternalPackages(ImmutableSet.copyOf(internalPrefixes), ImmutableSet.copyOf(exportedPrefixes));
+	}
+
+	/**
+	 * @param packageName
+	 * 		the dotted name of a package
+	 *
+	 * @return whether the package is internal
+	 */
+	public boolean isInternal(String packageName) {
+		requireNonNull(packageName, "The argument 'packageName' must not be null.");
+		return matchesAny(packageName, internalPrefixes) && !matchesAny(packageName, exportedPrefixes);
+	}
+
+	private static boolean matchesAny(String packageName, ImmutableSet<String> prefixes) {
+		for (String prefix : prefixes)
+			if (packageName.startsWith(prefix)
+					&& (packageName.length() == prefix.length() || packageName.charAt(prefix.length()) == '.'))
+				return true;
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "internal: " + internalPrefixes + ", exported: " + exportedPrefixes;
+	}
+
+}
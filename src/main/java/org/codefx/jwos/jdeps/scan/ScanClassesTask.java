@@ -0,0 +1,88 @@
+package org.codefx.jwos.jdeps.scan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Scans a range of a JAR's class entries by splitting it into halves until they are small enough to be scanned by a
+ * single thread.
+ * <p>
+ * Failing to read or scan an entry results in an {@link UncheckedIOException}.
+ */
+class ScanClassesTask extends RecursiveTask<List<ScannedClass>> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Scanning a class takes a few microseconds, so a task should scan a couple of them to make the overhead of
+	 * forking and joining negligible.
+	 */
+	static final int MAX_ENTRIES_PER_TASK = 64;
+
+	private final ZipFile jar;
+	private final List<ZipEntry> entries;
+	private final EntryScanner scanner;
+	private final int from;
+	private final int to;
+
+	/**
+	 * @param jar
+	 * 		the JAR containing the entries; must be readable concurrently
+	 * @param entries
+	 * 		the class entries to scan
+	 * @param scanner
+	 * 		scans a single entry; must be thread-safe
+	 */
+	ScanClassesTask(ZipFile jar, List<ZipEntry> entries, EntryScanner scanner) {
+		this(jar, entries, scanner, 0, entries.size());
+	}
+
+	private ScanClassesTask(ZipFile jar, List<ZipEntry> entries, EntryScanner scanner, int from, int to) {
+		this.jar = jar;
+		this.entries = entries;
+		this.scanner = scanner;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected List<ScannedClass> compute() {
+		if (to - from <= MAX_ENTRIES_PER_TASK)
+			return scanEntries();
+
+		int middle = (from + to) >>> 1;
+		ScanClassesTask upperHalf = new ScanClassesTask(jar, entries, scanner, middle, to);
+		upperHalf.fork();
+		List<ScannedClass> classes = new ScanClassesTask(jar, entries, scanner, from, middle).compute();
+		classes.addAll(upperHalf.join());
+		return classes;
+	}
+
+	private List<ScannedClass> scanEntries() {
+		List<ScannedClass> classes = new ArrayList<>(to - from);
+		for (ZipEntry entry : entries.subList(from, to))
+			classes.add(scanEntry(entry));
+		return classes;
+	}
+
+	private ScannedClass scanEntry(ZipEntry entry) {
+		try {
+			return scanner.scan(jar, entry);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(new IOException("Could not scan '" + entry.getName() + "'.", ex));
+		}
+	}
+
+	@FunctionalInterface
+	interface EntryScanner {
+
+		ScannedClass scan(ZipFile jar, ZipEntry entry) throws IOException;
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package org.codefx.jwos.jdeps.scan;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A class that was {@link ClassFileScanner scanned} for the types it references.
+ */
+final class ScannedClass {
+
+	private final String name;
+	private final ImmutableSet<String> referencedTypes;
+
+	/**
+	 * @param name
+	 * 		the binary name of the scanned class (e.g. {@code org.codefx.App$Inner})
+	 * @param referencedTypes
+	 * 		the binary names of the types the class references
+	 */
+	ScannedClass(String name, Set<String> referencedTypes) {
+		this.name = requireNonNull(name, "The argument 'name' must not be null.");
+		this.referencedTypes = ImmutableSet.copyOf(
+				requireNonNull(referencedTypes, "The argument 'referencedTypes' must not be null."));
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public ImmutableSet<String> referencedTypes() {
+		return referencedTypes;
+	}
+
+	/**
+	 * @param isRelevant
+	 * 		whether a referenced type is relevant
+	 *
+	 * @return a scanned class with the same name that only references the relevant types
+	 */
+	public ScannedClass withReferencesTo(Predicate<String> isRelevant) {
+		return new ScannedClass(name, referencedTypes.stream().filter(isRelevant).collect(toSet()));
+	}
+
+	@Override
+	public String toString() {
+		return name + " -> " + referencedTypes;
+	}
+
+}
@@ -0,0 +1,166 @@
+package org.codefx.jwos.analysis;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.artifact.ArtifactCoordinates;
+import org.codefx.jwos.artifact.CompletedArtifact;
+import org.codefx.jwos.artifact.ProjectCoordinates;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An analysis graph")
+class AnalysisGraphTest {
+
+	private static final ArtifactCoordinates DEPENDENT = ArtifactCoordinates.from("org.group", "dependent", "1.0");
+	private static final ArtifactCoordinates DEPENDEE = ArtifactCoordinates.from("org.group", "dependee", "1.0");
+
+	private AnalysisGraph graph;
+
+	@BeforeEach
+	void createGraph() {
+		graph = new AnalysisGraph();
+	}
+
+	@Test
+	@DisplayName("reports new projects as ready to resolve")
+	void addProject_readyToResolve() {
+		ProjectCoordinates project = ProjectCoordinates.from("org.group", "project");
+		graph.addProject(project);
+
+		assertThat(graph.drainProjectsToResolve().map(ProjectNode::coordinates).collect(toList()))
+				.containsExactly(project);
+		assertThat(graph.drainProjectsToResolve().count()).isEqualTo(0);
+	}
+
+	@Test
+	@DisplayName("reports new artifacts as ready to download and resolve")
+	void newArtifact_readyToDownloadAndResolve() {
+		graph.downloadOf(DEPENDENT);
+
+		assertThat(coordinates(graph.drainArtifactsToDownload())).containsExactly(DEPENDENT);
+		assertThat(coordinates(graph.drainArtifactsToResolve())).containsExactly(DEPENDENT);
+		assertThat(coordinates(graph.drainArtifactsToAnalyze())).isEmpty();
+		// the artifact's project is new as well
+		assertThat(graph.drainProjectsToResolve().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("reports downloaded artifacts as ready to analyze")
+	void downloadSucceeded_readyToAnalyze() {
+		graph.downloadOf(DEPENDENT).succeeded(Paths.get("dependent.jar"));
+
+		assertThat(coordinates(graph.drainArtifactsToAnalyze())).containsExactly(DEPENDENT);
+	}
+
+	@Test
+	@DisplayName("reports resolved dependees as ready to download")
+	void resolutionSucceeded_dependeesReadyToDownload() {
+		graph.downloadOf(DEPENDENT);
+		graph.drainArtifactsToDownload().forEach(ignored -> { });
+
+		graph.dependencyResolutionOf(DEPENDENT).succeeded(ImmutableSet.of(DEPENDEE));
+
+		assertThat(coordinates(graph.drainArtifactsToDownload())).containsExactly(DEPENDEE);
+	}
+
+	@Test
+	@DisplayName("reports an artifact as ready to complete only after its dependees were completed")
+	void dependeeCompleted_dependentReadyToComplete() {
+		finishAnalysisAndResolution(DEPENDENT, ImmutableSet.of(DEPENDEE));
+		assertThat(coordinates(graph.drainArtifactsToComplete())).isEmpty();
+
+		finishAnalysisAndResolution(DEPENDEE, ImmutableSet.of());
+		List<ArtifactNode> completedInOrder = graph
+				.drainArtifactsToComplete()
+				.peek(AnalysisGraphTest::complete)
+				.collect(toList());
+
+		assertThat(coordinates(completedInOrder.stream())).containsExactly(DEPENDEE, DEPENDENT);
+	}
+
+	@Test
+	@DisplayName("reports an artifact as ready to complete if its dependees were completed before it was resolved")
+	void dependeeCompletedBeforeResolution_dependentReadyToComplete() {
+		finishAnalysisAndResolution(DEPENDEE, ImmutableSet.of());
+		graph.drainArtifactsToComplete().forEach(AnalysisGraphTest::complete);
+
+		finishAnalysisAndResolution(DEPENDENT, ImmutableSet.of(DEPENDEE));
+
+		assertThat(coordinates(graph.drainArtifactsToComplete())).containsExactly(DEPENDENT);
+	}
+
+	@Test
+	@DisplayName("counts nodes and unfinished tasks")
+	void nodesAndUnfinishedTasksAreCounted() {
+		graph.addProject(DEPENDENT.project());
+		finishAnalysisAndResolution(DEPENDENT, ImmutableSet.of(DEPENDEE));
+
+		assertThat(graph.nrOfProjects()).isEqualTo(2);
+		assertThat(graph.nrOfUnresolvedProjects()).isEqualTo(2);
+		assertThat(graph.nrOfArtifacts()).isEqualTo(2);
+		assertThat(graph.nrOfUncompletedArtifacts()).isEqualTo(2);
+		assertThat(graph.allTasksCompleted()).isFalse();
+	}
+
+	@Test
+	@DisplayName("reports completion once all projects are resolved and all artifacts completed")
+	void allResolvedAndCompleted_allTasksCompleted() {
+		finishAnalysisAndResolution(DEPENDENT, ImmutableSet.of(DEPENDEE));
+		finishAnalysisAndResolution(DEPENDEE, ImmutableSet.of());
+		graph.drainArtifactsToComplete().forEach(AnalysisGraphTest::complete);
+		graph.versionResolutionOf(DEPENDENT.project()).succeeded(ImmutableSet.of(DEPENDENT));
+		assertThat(graph.allTasksCompleted()).isFalse();
+
+		graph.versionResolutionOf(DEPENDEE.project()).failed(new Exception());
+
+		assertThat(graph.nrOfUnresolvedProjects()).isEqualTo(0);
+		assertThat(graph.nrOfUncompletedArtifacts()).isEqualTo(0);
+		assertThat(graph.allTasksCompleted()).isTrue();
+	}
+
+	// UTILITIES
+
+	@Test
+	@DisplayName("queued and started tasks are counted as in progress until they finish")
+	void queuedAndStartedTasks_countedAsInProgress() {
+		graph.downloadOf(DEPENDENT).queued();
+		graph.dependencyResolutionOf(DEPENDENT).queued();
+		graph.dependencyResolutionOf(DEPENDENT).started();
+		assertThat(graph.nrOfDownloadsInProgress()).isEqualTo(1);
+		assertThat(graph.nrOfDependencyResolutionsInProgress()).isEqualTo(1);
+		assertThat(graph.nrOfTasksInProgress()).isEqualTo(2);
+
+		graph.downloadOf(DEPENDENT).started();
+		graph.downloadOf(DEPENDENT).failed(new Exception());
+		graph.dependencyResolutionOf(DEPENDENT).succeeded(ImmutableSet.of());
+
+		assertThat(graph.nrOfTasksInProgress()).isEqualTo(0);
+	}
+
+	private void finishAnalysisAndResolution(ArtifactCoordinates artifact, ImmutableSet<ArtifactCoordinates> dependees) {
+		graph.downloadOf(artifact).succeeded(Paths.get(artifact.artifactId() + ".jar"));
+		graph.analysisOf(artifact).succeeded(ImmutableSet.of());
+		graph.dependencyResolutionOf(artifact).succeeded(dependees);
+	}
+
+	private static void complete(ArtifactNode node) {
+		CompletedArtifact completed = CompletedArtifact
+				.forArtifact(node.coordinates())
+				.withViolations(ImmutableSet.of())
+				.withDependees(ImmutableSet.of())
+				.build();
+		node.completion().succeeded(completed);
+	}
+
+	private static List<ArtifactCoordinates> coordinates(Stream<ArtifactNode> nodes) {
+		return nodes.map(ArtifactNode::coordinates).collect(toList());
+	}
+
+}
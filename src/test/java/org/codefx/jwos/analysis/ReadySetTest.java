@@ -0,0 +1,75 @@
+package org.codefx.jwos.analysis;
+
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A ready set")
+class ReadySetTest {
+
+	private ReadySet<String> readySet;
+
+	@BeforeEach
+	void createReadySet() {
+		readySet = new ReadySet<>();
+	}
+
+	@Test
+	@DisplayName("drains elements in the order they were added")
+	void drain_insertionOrder() {
+		readySet.add("C");
+		readySet.add("A");
+		readySet.add("B");
+
+		assertThat(readySet.drain().collect(toList())).containsExactly("C", "A", "B");
+	}
+
+	@Test
+	@DisplayName("ignores elements that were already added")
+	void add_duplicatesIgnored() {
+		readySet.add("A");
+		readySet.add("B");
+		readySet.add("A");
+
+		assertThat(readySet.size()).isEqualTo(2);
+		assertThat(readySet.drain().collect(toList())).containsExactly("A", "B");
+	}
+
+	@Test
+	@DisplayName("is empty after being drained")
+	void drain_emptiesSet() {
+		readySet.add("A");
+		readySet.drain().forEach(ignored -> { });
+
+		assertThat(readySet.size()).isEqualTo(0);
+		assertThat(readySet.drain().count()).isEqualTo(0);
+	}
+
+	@Test
+	@DisplayName("accepts drained elements again")
+	void add_afterDrain_elementIsAddedAgain() {
+		readySet.add("A");
+		readySet.drain().forEach(ignored -> { });
+		readySet.add("A");
+
+		assertThat(readySet.drain().collect(toList())).containsExactly("A");
+	}
+
+	@Test
+	@DisplayName("drains elements that are added while draining")
+	void drain_elementsAddedWhileDraining() {
+		readySet.add("1");
+
+		assertThat(readySet.drain()
+				.peek(element -> {
+					if (element.length() < 3)
+						readySet.add(element + element.length());
+				})
+				.collect(toList()))
+				.containsExactly("1", "11", "112");
+	}
+
+}
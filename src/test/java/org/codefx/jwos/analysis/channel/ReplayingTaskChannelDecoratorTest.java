@@ -7,6 +7,7 @@ import org.junit.gen5.api.Nested;
 import org.junit.gen5.api.Test;
 import org.mockito.stubbing.OngoingStubbing;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -102,6 +103,18 @@ class ReplayingTaskChannelDecoratorTest {
 			assertThat(replayingChannel.noWaitingTasks()).isEqualTo(false);
 		}
 
+		@Test
+		@DisplayName("rejects non-positive maximums")
+		void drainTo_nonPositiveMaximum_throwsException() {
+			assertThatThrownBy(() -> replayingChannel.drainTasksTo(new ArrayList<>(), 0))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> replayingChannel.drainResultsTo(new ArrayList<>(), 0))
+					.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> replayingChannel.drainErrorsTo(new ArrayList<>(), -1))
+					.isInstanceOf(IllegalArgumentException.class);
+			verifyNoMoreInteractions(decoratedChannel);
+		}
+
 		@Test
 		@DisplayName("sends task to decorated channel")
 		void sendTask_decoratedChannelGetsCalled() {
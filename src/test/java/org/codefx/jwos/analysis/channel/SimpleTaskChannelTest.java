@@ -0,0 +1,85 @@
+package org.codefx.jwos.analysis.channel;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("A simple channel")
+class SimpleTaskChannelTest {
+
+	@Test
+	@DisplayName("without task capacity, has unbounded remaining capacity")
+	void unbounded_maxRemainingCapacity() {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedAndUnbounded("test");
+		channel.sendTask("A");
+
+		assertThat(channel.remainingTaskCapacity()).isEqualTo(Integer.MAX_VALUE);
+	}
+
+	@Test
+	@DisplayName("with task capacity, reports remaining capacity")
+	void bounded_reportsRemainingCapacity() throws InterruptedException {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedWithTaskCapacity("test", 2);
+		assertThat(channel.remainingTaskCapacity()).isEqualTo(2);
+
+		channel.sendTask("A");
+		channel.sendTask("B");
+		assertThat(channel.remainingTaskCapacity()).isEqualTo(0);
+
+		channel.getTask();
+		assertThat(channel.remainingTaskCapacity()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("with task capacity, rejects tasks beyond it")
+	void bounded_rejectsTasksBeyondCapacity() {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedWithTaskCapacity("test", 1);
+		channel.sendTask("A");
+
+		assertThatThrownBy(() -> channel.sendTask("B")).isInstanceOf(IllegalStateException.class);
+		assertThat(channel.drainTasks().collect(toList())).containsExactly("A");
+	}
+
+	@Test
+	@DisplayName("returns up to the maximum number of available tasks")
+	void getTasks_upToMaximum() throws InterruptedException {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedAndUnbounded("test");
+		channel.sendTask("A");
+		channel.sendTask("B");
+		channel.sendTask("C");
+
+		assertThat(channel.getTasks(2)).containsExactly("A", "B");
+		assertThat(channel.getTasks(2)).containsExactly("C");
+	}
+
+	@Test
+	@DisplayName("drains up to the maximum number of results into a collection")
+	void drainResultsTo_upToMaximum() throws InterruptedException {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedAndUnbounded("test");
+		channel.sendResult(1);
+		channel.sendResult(2);
+		channel.sendResult(3);
+		List<Integer> results = new ArrayList<>();
+
+		assertThat(channel.drainResultsTo(results, 2)).isEqualTo(2);
+		assertThat(results).containsExactly(1, 2);
+		assertThat(channel.drainResultsTo(results, 2)).isEqualTo(1);
+		assertThat(results).containsExactly(1, 2, 3);
+	}
+
+	@Test
+	@DisplayName("rejects non-positive maximums")
+	void drainErrorsTo_nonPositiveMaximum_throwsException() {
+		TaskChannel<String, Integer, Exception> channel = TaskChannel.namedAndUnbounded("test");
+
+		assertThatThrownBy(() -> channel.drainErrorsTo(new ArrayList<>(), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
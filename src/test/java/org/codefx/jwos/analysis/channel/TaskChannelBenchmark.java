@@ -0,0 +1,71 @@
+package org.codefx.jwos.analysis.channel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares how fast many threads can send results to a channel while a single thread drains them,
+ * which is how the task manager uses its channels.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TaskChannelBenchmark {
+
+	private static final int DRAIN_BATCH_SIZE = 256;
+
+	@Param({ "simple", "lockFree" })
+	private String channelType;
+
+	private TaskChannel<String, Integer, Exception> channel;
+	private List<Integer> drained;
+
+	@Setup
+	public void createChannel() {
+		channel = "simple".equals(channelType)
+				? TaskChannel.namedAndUnbounded("benchmark")
+				: TaskChannel.namedAndLockFree("benchmark");
+		drained = new ArrayList<>(DRAIN_BATCH_SIZE);
+	}
+
+	@Benchmark
+	@Group("answers")
+	@GroupThreads(4)
+	public void sendResult() throws InterruptedException {
+		channel.sendResult(42);
+	}
+
+	@Benchmark
+	@Group("answers")
+	@GroupThreads(1)
+	public int drainResults() {
+		drained.clear();
+		return channel.drainResultsTo(drained, DRAIN_BATCH_SIZE);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TaskChannelBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.codefx.jwos.analysis.task;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.FAILED;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.NOT_COMPUTED;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.QUEUED;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.STARTED;
+import static org.codefx.jwos.analysis.task.TaskStateIdentifier.SUCCEEDED;
+
+@DisplayName("A task")
+class TaskTest {
+
+	private static final int NR_OF_THREADS = 16;
+
+	@Test
+	@DisplayName("reports each transition to its listener")
+	void transitions_reportedToListener() {
+		List<String> transitions = new ArrayList<>();
+		Task<String> task = new Task<>((from, to) -> transitions.add(from + " -> " + to));
+
+		task.queued();
+		task.started();
+		task.succeeded("result");
+
+		assertThat(transitions).containsExactly(
+				NOT_COMPUTED + " -> " + QUEUED,
+				QUEUED + " -> " + STARTED,
+				STARTED + " -> " + SUCCEEDED);
+		assertThat(task.result()).isEqualTo("result");
+	}
+
+	@Test
+	@DisplayName("rejects illegal transitions without changing its state")
+	void illegalTransition_stateUnchanged() {
+		Task<String> task = new Task<>();
+		task.queued();
+
+		assertThatThrownBy(() -> task.succeeded("result")).isInstanceOf(IllegalStateException.class);
+		assertThat(task.identifier()).isEqualTo(QUEUED);
+	}
+
+	@Test
+	@DisplayName("lets only one of several concurrent threads finish it")
+	void concurrentTransitions_onlyOneSucceeds() throws InterruptedException {
+		AtomicInteger finishedTransitions = new AtomicInteger();
+		Task<String> task = new Task<>((from, to) -> {
+			if (to.isFinished())
+				finishedTransitions.incrementAndGet();
+		});
+		task.queued();
+		task.started();
+
+		AtomicInteger rejectedTransitions = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < NR_OF_THREADS; i++) {
+			boolean succeed = i % 2 == 0;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					if (succeed)
+						task.succeeded("result");
+					else
+						task.failed(new Exception());
+				} catch (IllegalStateException ex) {
+					rejectedTransitions.incrementAndGet();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		assertThat(finishedTransitions.get()).isEqualTo(1);
+		assertThat(rejectedTransitions.get()).isEqualTo(NR_OF_THREADS - 1);
+		assertThat(task.identifier()).isIn(SUCCEEDED, FAILED);
+	}
+
+}
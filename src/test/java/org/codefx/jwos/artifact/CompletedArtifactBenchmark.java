@@ -0,0 +1,82 @@
+package org.codefx.jwos.artifact;
+
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures hashing and comparing completed artifacts at the root of deep dependency trees, where each level consists
+ * of two artifacts that both depend on the two artifacts of the next level (a common shape, e.g. for an API and its
+ * implementation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CompletedArtifactBenchmark {
+
+	private static final int WIDTH = 2;
+
+	@Param({ "5", "10", "15" })
+	private int depth;
+
+	private CompletedArtifact root;
+	private CompletedArtifact equalRoot;
+
+	@Setup
+	public void createTrees() {
+		root = createTree(depth);
+		equalRoot = createTree(depth);
+	}
+
+	private static CompletedArtifact createTree(int depth) {
+		ImmutableSet<CompletedArtifact> level = ImmutableSet.of();
+		for (int levelIndex = depth; levelIndex >= 0; levelIndex--) {
+			ImmutableSet.Builder<CompletedArtifact> nextLevel = ImmutableSet.builder();
+			for (int artifactIndex = 0; artifactIndex < WIDTH; artifactIndex++)
+				nextLevel.add(CompletedArtifact
+						.forArtifact(ArtifactCoordinates.from("group", "artifact-" + artifactIndex, "" + levelIndex))
+						.withViolations(ImmutableSet.of())
+						.withDependees(level)
+						.build());
+			level = nextLevel.build();
+		}
+		return level.iterator().next();
+	}
+
+	@Benchmark
+	public int hashRoot() {
+		return root.hashCode();
+	}
+
+	@Benchmark
+	public boolean compareRoots() {
+		return root.equals(equalRoot);
+	}
+
+	@Benchmark
+	public ImmutableSet<CompletedArtifact> collectRoots() {
+		return ImmutableSet.of(root, equalRoot);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CompletedArtifactBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,155 @@
+package org.codefx.jwos.computation;
+
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An adaptive computation executor")
+class AdaptiveComputationExecutorTest {
+
+	private AdaptiveComputationExecutor executor;
+
+	@BeforeEach
+	void createExecutor() {
+		executor = new AdaptiveComputationExecutor();
+	}
+
+	@AfterEach
+	void abortExecutor() {
+		executor.notifyAbort();
+	}
+
+	@Test
+	@DisplayName("runs a stage's computation until it ends")
+	void computationEnds_stageEnds() throws InterruptedException {
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch ended = new CountDownLatch(1);
+		executor.addStage(computation(() -> {
+			if (computations.incrementAndGet() == 3) {
+				ended.countDown();
+				throw new InterruptedException();
+			}
+		}), 1);
+
+		executor.start();
+
+		assertThat(ended.await(5, SECONDS)).isTrue();
+		// give a (wrongly) restarted worker the chance to compute again
+		Thread.sleep(100);
+		assertThat(computations.get()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("starts the minimum number of workers")
+	void start_minimumWorkersStarted() throws InterruptedException {
+		CountDownLatch allStarted = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		executor.addStage(computation(() -> {
+			allStarted.countDown();
+			release.await();
+		}), 2, 4, () -> 0);
+
+		executor.start();
+
+		assertThat(allStarted.await(5, SECONDS)).isTrue();
+		release.countDown();
+	}
+
+	@Test
+	@DisplayName("keeps a worker computing after its computation threw an exception")
+	void computationThrows_workerContinues() throws InterruptedException {
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch computedAfterFailures = new CountDownLatch(1);
+		executor.addStage(computation(() -> {
+			if (computations.incrementAndGet() <= 3)
+				throw new IllegalStateException("failure #" + computations.get());
+			computedAfterFailures.countDown();
+			throw new InterruptedException();
+		}), 1);
+
+		executor.start();
+
+		assertThat(computedAfterFailures.await(5, SECONDS)).isTrue();
+		assertThat(computations.get()).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("grows an I/O stage with a large backlog to its maximum number of workers")
+	void ioStageWithBacklog_growsToMaximum() throws InterruptedException {
+		// more workers than any of the stages in 'Main' may have on platform threads
+		int maxWorkers = 32;
+		AtomicInteger running = new AtomicInteger();
+		CountDownLatch allRunning = new CountDownLatch(1);
+		executor.addIoStage(computation(() -> {
+			if (running.incrementAndGet() == maxWorkers)
+				allRunning.countDown();
+			// simulate waiting for I/O
+			Thread.sleep(50);
+			running.decrementAndGet();
+		}), 1, maxWorkers, () -> 100_000);
+
+		executor.start();
+
+		assertThat(allRunning.await(10, SECONDS)).isTrue();
+	}
+
+	@Test
+	@DisplayName("needs enough workers to work off a backlog of slow I/O tasks within one interval")
+	void computeDesiredWorkers_backlogOfSlowTasks_upToMaximum() {
+		long nanosPerTask = MILLISECONDS.toNanos(200);
+
+		// 256 waiting tasks of 200 ms each take about 52 workers one second
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 64, 4, 0, 256, nanosPerTask)).isEqualTo(52);
+		// 16 busy workers and another 52 to work off the backlog exceed the maximum
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 64, 16, 16, 256, nanosPerTask)).isEqualTo(64);
+	}
+
+	@Test
+	@DisplayName("needs as many workers as keep the busy ones at the target utilisation")
+	void computeDesiredWorkers_noBacklog_targetUtilisation() {
+		long nanosPerTask = MILLISECONDS.toNanos(10);
+
+		// two busy workers at 80 % utilisation need three workers
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 8, 8, 2, 0, nanosPerTask)).isEqualTo(3);
+		// without waiting tasks, additional workers would have nothing to do
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 8, 4, 4, 0, nanosPerTask)).isEqualTo(4);
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(2, 8, 4, 0, 0, nanosPerTask)).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("grows carefully while no task was computed yet")
+	void computeDesiredWorkers_noTaskComputedYet_growsByOne() {
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 8, 3, 3, 100, Double.NaN)).isEqualTo(4);
+		assertThat(AdaptiveComputationExecutor.computeDesiredWorkers(1, 8, 8, 8, 100, Double.NaN)).isEqualTo(8);
+	}
+
+	private static Computation computation(InterruptibleAction action) {
+		return new Computation() {
+			@Override
+			public String name() {
+				return "test";
+			}
+
+			@Override
+			public void compute() throws InterruptedException {
+				action.run();
+			}
+		};
+	}
+
+	@FunctionalInterface
+	private interface InterruptibleAction {
+
+		void run() throws InterruptedException;
+
+	}
+
+}
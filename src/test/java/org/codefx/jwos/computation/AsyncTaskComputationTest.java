@@ -0,0 +1,94 @@
+package org.codefx.jwos.computation;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An asynchronous task computation")
+class AsyncTaskComputationTest {
+
+	private final List<String> results = new ArrayList<>();
+	private final List<Exception> errors = new ArrayList<>();
+
+	@Test
+	@DisplayName("sends the result once the computation completes")
+	void computationSucceeds_resultSent() throws InterruptedException {
+		CompletableFuture<String> computation = new CompletableFuture<>();
+		AsyncTaskComputation<String, String> async = createComputation(task -> computation, 1);
+
+		async.compute();
+		assertThat(results).isEmpty();
+		computation.complete("result");
+
+		assertThat(results).containsExactly("result");
+		assertThat(errors).isEmpty();
+	}
+
+	@Test
+	@DisplayName("sends the unwrapped error if the computation fails")
+	void computationFails_errorSent() throws InterruptedException {
+		Exception error = new Exception();
+		CompletableFuture<String> computation = new CompletableFuture<>();
+		AsyncTaskComputation<String, String> async = createComputation(task -> computation, 1);
+
+		async.compute();
+		computation.completeExceptionally(new CompletionException(error));
+
+		assertThat(results).isEmpty();
+		assertThat(errors).containsExactly(error);
+	}
+
+	@Test
+	@DisplayName("starts further tasks once previous ones completed")
+	void tasksComplete_furtherTasksStarted() throws InterruptedException {
+		AsyncTaskComputation<String, String> async = createComputation(CompletableFuture::completedFuture, 1);
+
+		async.compute();
+		async.compute();
+
+		assertThat(results).containsExactly("task", "task");
+	}
+
+	@Test
+	@DisplayName("delivers the result even if sending it is interrupted")
+	void sendingInterrupted_resultDeliveredAndInterruptRestored() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		AsyncTaskComputation<String, String> async = new AsyncTaskComputation<>(
+				"test",
+				() -> "task",
+				CompletableFuture::completedFuture,
+				result -> {
+					if (attempts.incrementAndGet() == 1)
+						throw new InterruptedException();
+					results.add(result);
+				},
+				(task, error) -> errors.add(error),
+				1);
+
+		async.compute();
+
+		assertThat(results).containsExactly("task");
+		assertThat(attempts.get()).isEqualTo(2);
+		// 'compute' completed the task on this thread, so its interrupt was restored here
+		assertThat(Thread.interrupted()).isTrue();
+	}
+
+	private AsyncTaskComputation<String, String> createComputation(
+			ComputeTaskAsync<String, String> compute, int maxTasksInFlight) {
+		return new AsyncTaskComputation<>(
+				"test",
+				() -> "task",
+				compute,
+				results::add,
+				(task, error) -> errors.add(error),
+				maxTasksInFlight);
+	}
+
+}
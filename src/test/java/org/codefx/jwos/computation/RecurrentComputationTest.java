@@ -0,0 +1,70 @@
+package org.codefx.jwos.computation;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("A recurrent computation")
+class RecurrentComputationTest {
+
+	@Test
+	@DisplayName("sleeps for the rest of the period after computing")
+	void compute_fastComputation_sleepsForRestOfPeriod() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		RecurrentComputation computation =
+				new RecurrentComputation("test", runs::incrementAndGet, Duration.ofMillis(100));
+
+		long start = System.nanoTime();
+		computation.compute();
+		computation.compute();
+		long elapsedInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(runs.get()).isEqualTo(2);
+		assertThat(elapsedInMs).isGreaterThanOrEqualTo(200);
+	}
+
+	@Test
+	@DisplayName("does not sleep if the computation took longer than the period")
+	void compute_slowComputation_noSleep() throws InterruptedException {
+		RecurrentComputation computation =
+				new RecurrentComputation("test", () -> Thread.sleep(50), Duration.ofMillis(10));
+
+		long start = System.nanoTime();
+		computation.compute();
+		long elapsedInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(elapsedInMs).isLessThan(1_000);
+	}
+
+	@Test
+	@DisplayName("continues after the computation failed")
+	void compute_computationFails_noException() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		RecurrentComputation computation = new RecurrentComputation(
+				"test",
+				() -> {
+					runs.incrementAndGet();
+					throw new Exception("Ha Ha!");
+				},
+				Duration.ofMillis(1));
+
+		computation.compute();
+		computation.compute();
+
+		assertThat(runs.get()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("rejects a period that is not positive")
+	void create_zeroPeriod_exception() {
+		assertThatThrownBy(() -> new RecurrentComputation("test", () -> { }, Duration.ZERO))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,182 @@
+package org.codefx.jwos.file;
+
+import org.codefx.jwos.artifact.ArtifactCoordinates;
+import org.codefx.jwos.artifact.CompletedArtifact;
+import org.codefx.jwos.artifact.FailedArtifact;
+import org.codefx.jwos.artifact.ProjectCoordinates;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.file.persistence.PersistentAnalysis;
+import org.codefx.jwos.file.persistence.PersistentCompletedArtifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableSet.of;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A journaling analysis persistence")
+class JournalingAnalysisPersistenceTest {
+
+	private static final ProjectCoordinates PROJECT = ProjectCoordinates.from("org.codefx", "project");
+	private static final ArtifactCoordinates ARTIFACT = ArtifactCoordinates.from("org.codefx", "artifact", "1.0");
+	private static final ArtifactCoordinates DEPENDEE = ArtifactCoordinates.from("org.codefx", "dependee", "1.0");
+
+	private Path directory;
+	private Path snapshotFile;
+	private Path journalFile;
+
+	@BeforeEach
+	void createFiles() throws IOException {
+		directory = Files.createTempDirectory("jwos-journal");
+		snapshotFile = directory.resolve("results.yaml");
+		journalFile = directory.resolve("results.journal");
+	}
+
+	@AfterEach
+	void deleteFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator)
+				Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	@DisplayName("replays committed results when it is reopened")
+	void open_committedResults_replayed() throws IOException {
+		try (JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			addResults(persistence);
+			persistence.commit();
+		}
+
+		assertThat(snapshotFile).doesNotExist();
+		assertThat(Files.size(journalFile)).isPositive();
+		try (JournalingAnalysisPersistence reopened = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			assertContainsResults(reopened);
+		}
+	}
+
+	@Test
+	@DisplayName("writes results to the snapshot and clears the journal when compacted")
+	void compact_results_inSnapshot() throws IOException {
+		try (JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			addResults(persistence);
+			persistence.compact();
+		}
+
+		assertThat(Files.size(journalFile)).isZero();
+		YamlAnalysisPersistence snapshot = YamlAnalysisPersistence.fromStream(Files.newInputStream(snapshotFile));
+		assertThat(snapshot.projectsUnmodifiable()).containsExactly(PROJECT);
+		try (JournalingAnalysisPersistence reopened = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			assertContainsResults(reopened);
+		}
+	}
+
+	@Test
+	@DisplayName("replays results from snapshot and journal, which may reference each other")
+	void open_snapshotAndJournal_bothReplayed() throws IOException {
+		try (JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			persistence.addProject(PROJECT);
+			persistence.addResult(completed(DEPENDEE, of()));
+			persistence.compact();
+			persistence.addAnalysisError(new FailedArtifact(ARTIFACT, new Exception("Ha Ha!")));
+			persistence.addResult(completed(ARTIFACT, of(completed(DEPENDEE, of()))));
+			// the dependee is added again (e.g. because the process stopped during the compaction)
+			persistence.addResult(completed(DEPENDEE, of()));
+		}
+
+		try (JournalingAnalysisPersistence reopened = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			assertContainsResults(reopened);
+		}
+	}
+
+	@Test
+	@DisplayName("only writes to the journal when results were added since the last commit")
+	void commit_noNewResults_nothingWritten() throws IOException {
+		try (JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			persistence.commit();
+			assertThat(Files.size(journalFile)).isZero();
+
+			persistence.addProject(PROJECT);
+			persistence.addProject(ProjectCoordinates.from("org.codefx", "other"));
+			persistence.commit();
+			long sizeAfterCommit = Files.size(journalFile);
+			persistence.commit();
+
+			assertThat(sizeAfterCommit).isPositive();
+			assertThat(Files.size(journalFile)).isEqualTo(sizeAfterCommit);
+		}
+	}
+
+	@Test
+	@DisplayName("ignores an incomplete record at the end of the journal")
+	void open_incompleteLastRecord_ignored() throws IOException {
+		try (JournalingAnalysisPersistence persistence = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			persistence.addProject(PROJECT);
+			persistence.commit();
+			persistence.addAnalysisError(new FailedArtifact(ARTIFACT, new Exception("Ha Ha!")));
+		}
+		try (RandomAccessFile journal = new RandomAccessFile(journalFile.toFile(), "rw")) {
+			journal.setLength(journal.length() - 3);
+		}
+
+		try (JournalingAnalysisPersistence reopened = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			assertThat(reopened.projectsUnmodifiable()).containsExactly(PROJECT);
+			assertThat(reopened.artifactAnalysisErrorsUnmodifiable()).isEmpty();
+
+			// new records are appended after the last complete one
+			reopened.addProject(ProjectCoordinates.from("org.codefx", "other"));
+		}
+		try (JournalingAnalysisPersistence reopened = JournalingAnalysisPersistence.open(snapshotFile, journalFile)) {
+			assertThat(reopened.projectsUnmodifiable()).hasSize(2);
+		}
+	}
+
+	private static void addResults(JournalingAnalysisPersistence persistence) {
+		persistence.addProject(PROJECT);
+		persistence.addAnalysisError(new FailedArtifact(ARTIFACT, new Exception("Ha Ha!")));
+		CompletedArtifact dependee = completed(DEPENDEE, of());
+		persistence.addResult(dependee);
+		persistence.addResult(completed(ARTIFACT, of(dependee)));
+	}
+
+	private static CompletedArtifact completed(
+			ArtifactCoordinates artifact, ImmutableSet<CompletedArtifact> dependees) {
+		return CompletedArtifact.forArtifact(artifact)
+				.withViolations(of())
+				.withDependees(dependees)
+				.build();
+	}
+
+	private void assertContainsResults(JournalingAnalysisPersistence persistence) throws IOException {
+		assertThat(persistence.projectsUnmodifiable()).containsExactly(PROJECT);
+		assertThat(persistence.artifactAnalysisErrorsUnmodifiable())
+				.extracting(FailedArtifact::coordinates)
+				.containsExactly(ARTIFACT);
+
+		// 'AnalysisPersistence' has no query for completed artifacts, so check the snapshot they end up in
+		persistence.compact();
+		try (InputStream snapshot = Files.newInputStream(snapshotFile)) {
+			PersistentAnalysis persistent = new YamlPersister().read(snapshot, PersistentAnalysis.class);
+			CompletedArtifact artifact = PersistentCompletedArtifact
+					.toArtifacts(persistent.step_6_completedArtifacts.stream())
+					.filter(completed -> completed.coordinates().equals(ARTIFACT))
+					.findAny()
+					.get();
+			assertThat(persistent.step_6_completedArtifacts).hasSize(2);
+			assertThat(artifact.dependees().get())
+					.extracting(CompletedArtifact::coordinates)
+					.containsExactly(DEPENDEE);
+		}
+	}
+
+}
@@ -0,0 +1,194 @@
+package org.codefx.jwos.file;
+
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@DisplayName("A result journal")
+class ResultJournalTest {
+
+	private Path journalFile;
+
+	@BeforeEach
+	void createFile() throws IOException {
+		journalFile = Files.createTempFile("result-journal-test", ".journal");
+	}
+
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(journalFile);
+	}
+
+	@Test
+	@DisplayName("replays committed records in order")
+	void commit_recordsReplayed() throws IOException {
+		try (ResultJournal journal = ResultJournal.openForAppending(journalFile)) {
+			journal.append((byte) 1, bytes("first"));
+			journal.append((byte) 2, bytes("second"));
+			journal.commit();
+		}
+
+		assertThat(replay()).containsExactly("1:first", "2:second");
+	}
+
+	@Test
+	@DisplayName("keeps records pending and removes the partially written record if a commit fails")
+	void commitFails_recordsWrittenByNextCommit() throws IOException {
+		FailingFileChannel channel = new FailingFileChannel(FileChannel.open(journalFile, WRITE));
+		try (ResultJournal journal = new ResultJournal(channel)) {
+			journal.append((byte) 1, bytes("committed"));
+			journal.commit();
+
+			journal.append((byte) 2, bytes("failed to commit"));
+			channel.failNextWriteAfterHalf = true;
+			Throwable failure = catchThrowable(journal::commit);
+			journal.append((byte) 3, bytes("appended after failure"));
+
+			assertThat(failure).isInstanceOf(IOException.class);
+			// the partially written record was removed
+			assertThat(replay()).containsExactly("1:committed");
+			journal.commit();
+		}
+
+		assertThat(replay()).containsExactly("1:committed", "2:failed to commit", "3:appended after failure");
+	}
+
+	private List<String> replay() throws IOException {
+		List<String> records = new ArrayList<>();
+		long validLength = ResultJournal.replay(
+				journalFile, (kind, payload) -> records.add(kind + ":" + new String(payload, UTF_8)));
+		assertThat(validLength).isEqualTo(Files.size(journalFile));
+		return records;
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(UTF_8);
+	}
+
+	/**
+	 * Delegates to a file channel but can be told to fail after writing half of the next buffer.
+	 */
+	private static class FailingFileChannel extends FileChannel {
+
+		private final FileChannel channel;
+		private boolean failNextWriteAfterHalf;
+
+		FailingFileChannel(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int write(ByteBuffer source) throws IOException {
+			if (!failNextWriteAfterHalf)
+				return channel.write(source);
+
+			failNextWriteAfterHalf = false;
+			ByteBuffer half = source.duplicate();
+			half.limit(source.position() + source.remaining() / 2);
+			channel.write(half);
+			throw new IOException("Simulated failure after writing half of the records.");
+		}
+
+		@Override
+		public int read(ByteBuffer destination) throws IOException {
+			return channel.read(destination);
+		}
+
+		@Override
+		public long read(ByteBuffer[] destinations, int offset, int length) throws IOException {
+			return channel.read(destinations, offset, length);
+		}
+
+		@Override
+		public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+			return channel.write(sources, offset, length);
+		}
+
+		@Override
+		public long position() throws IOException {
+			return channel.position();
+		}
+
+		@Override
+		public FileChannel position(long newPosition) throws IOException {
+			channel.position(newPosition);
+			return this;
+		}
+
+		@Override
+		public long size() throws IOException {
+			return channel.size();
+		}
+
+		@Override
+		public FileChannel truncate(long size) throws IOException {
+			channel.truncate(size);
+			return this;
+		}
+
+		@Override
+		public void force(boolean metaData) throws IOException {
+			channel.force(metaData);
+		}
+
+		@Override
+		public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+			return channel.transferTo(position, count, target);
+		}
+
+		@Override
+		public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+			return channel.transferFrom(source, position, count);
+		}
+
+		@Override
+		public int read(ByteBuffer destination, long position) throws IOException {
+			return channel.read(destination, position);
+		}
+
+		@Override
+		public int write(ByteBuffer source, long position) throws IOException {
+			return channel.write(source, position);
+		}
+
+		@Override
+		public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+			return channel.map(mode, position, size);
+		}
+
+		@Override
+		public FileLock lock(long position, long size, boolean shared) throws IOException {
+			return channel.lock(position, size, shared);
+		}
+
+		@Override
+		public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+			return channel.tryLock(position, size, shared);
+		}
+
+		@Override
+		protected void implCloseChannel() throws IOException {
+			channel.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,47 @@
+package org.codefx.jwos.file;
+
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("YAML analysis cache")
+class YamlAnalysisCacheTest {
+
+	@Test
+	@DisplayName("can dump and load cached analyses")
+	void persistCache() {
+		ImmutableSet<Violation> violations = ImmutableSet.of(Violation.buildFor(
+				Type.of("org.codefx.App"),
+				asList(
+						InternalType.of("sun.misc.Unsafe", "JDK internal API", "JDK"),
+						InternalType.of("sun.misc.BASE64Encoder", "JDK internal API", "JDK"))));
+		YamlAnalysisCache cache = YamlAnalysisCache.empty("analyzer");
+		cache.put("6ce200f6b23222af3d8abb6b6459e6c44f4bb0e9", violations);
+		cache.put("0000000000000000000000000000000000000000", ImmutableSet.of());
+
+		YamlAnalysisCache loaded = YamlAnalysisCache.fromString(cache.toYaml(), "analyzer");
+
+		assertThat(loaded.size()).isEqualTo(2);
+		assertThat(loaded.get("6ce200f6b23222af3d8abb6b6459e6c44f4bb0e9")).contains(violations);
+		assertThat(loaded.get("0000000000000000000000000000000000000000")).contains(ImmutableSet.of());
+	}
+
+	@Test
+	@DisplayName("discards cached analyses of another analyzer")
+	void loadCacheOfOtherAnalyzer() {
+		YamlAnalysisCache cache = YamlAnalysisCache.empty("analyzer");
+		cache.put("0000000000000000000000000000000000000000", ImmutableSet.of());
+
+		YamlAnalysisCache loaded = YamlAnalysisCache.fromString(cache.toYaml(), "other analyzer");
+
+		assertThat(loaded.size()).isZero();
+		assertThat(loaded.toYaml()).contains("other analyzer");
+	}
+
+}
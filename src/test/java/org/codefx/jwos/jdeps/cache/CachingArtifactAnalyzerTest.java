@@ -0,0 +1,113 @@
+package org.codefx.jwos.jdeps.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.codefx.jwos.artifact.AnalyzedArtifact;
+import org.codefx.jwos.artifact.ArtifactCoordinates;
+import org.codefx.jwos.artifact.DownloadedArtifact;
+import org.codefx.jwos.file.YamlAnalysisCache;
+import org.codefx.jwos.jdeps.ArtifactAnalyzer;
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A caching artifact analyzer")
+class CachingArtifactAnalyzerTest {
+
+	private static final ImmutableSet<Violation> VIOLATIONS = ImmutableSet.of(Violation.buildFor(
+			Type.of("org.codefx.App"), singleton(InternalType.of("sun.misc.Unsafe", "JDK internal API", "JDK"))));
+
+	private Path directory;
+	private List<DownloadedArtifact> analyzedArtifacts;
+	private CachingArtifactAnalyzer analyzer;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		directory = Files.createTempDirectory("caching-analyzer-test");
+		analyzedArtifacts = new ArrayList<>();
+		ArtifactAnalyzer countingAnalyzer = artifact -> {
+			analyzedArtifacts.add(artifact);
+			return new AnalyzedArtifact(artifact.coordinates(), VIOLATIONS);
+		};
+		analyzer = new CachingArtifactAnalyzer(countingAnalyzer, YamlAnalysisCache.empty("counting"));
+	}
+
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator)
+				Files.delete(file);
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	@DisplayName("analyzes identical JARs only once")
+	void analyze_identicalJars_analyzedOnce() throws Exception {
+		DownloadedArtifact first = artifact("first", "identical content");
+		DownloadedArtifact second = artifact("second", "identical content");
+
+		AnalyzedArtifact firstAnalyzed = analyzer.analyze(first);
+		AnalyzedArtifact secondAnalyzed = analyzer.analyze(second);
+
+		assertThat(analyzedArtifacts).containsExactly(first);
+		assertThat(firstAnalyzed.coordinates()).isEqualTo(first.coordinates());
+		assertThat(secondAnalyzed.coordinates()).isEqualTo(second.coordinates());
+		assertThat(secondAnalyzed.violations()).isEqualTo(VIOLATIONS);
+	}
+
+	@Test
+	@DisplayName("identifies JARs by their hash files if they exist")
+	void analyze_hashFiles_usedAsKey() throws Exception {
+		DownloadedArtifact first = artifact("first", "some content");
+		DownloadedArtifact second = artifact("second", "other content");
+		String hash = "6ce200f6b23222af3d8abb6b6459e6c44f4bb0e9";
+		Files.write(directory.resolve("first.jar.sha1"), singleton(hash), UTF_8);
+		Files.write(directory.resolve("second.jar.sha1"), singleton(hash + "  second.jar"), UTF_8);
+
+		analyzer.analyze(first);
+		analyzer.analyze(second);
+
+		assertThat(ContentHash.of(first.path())).isEqualTo(hash);
+		assertThat(analyzedArtifacts).containsExactly(first);
+	}
+
+	@Test
+	@DisplayName("analyzes only uncached and distinct JARs of a batch")
+	void analyzeBatch_someCachedSomeIdentical_analyzedOnceEach() throws Exception {
+		DownloadedArtifact cached = artifact("cached", "cached content");
+		DownloadedArtifact first = artifact("first", "identical content");
+		DownloadedArtifact second = artifact("second", "identical content");
+		DownloadedArtifact third = artifact("third", "other content");
+		analyzer.analyze(cached);
+		analyzedArtifacts.clear();
+
+		ImmutableList<AnalyzedArtifact> analyzed = analyzer.analyze(asList(first, cached, second, third));
+
+		assertThat(analyzedArtifacts).containsExactly(first, third);
+		assertThat(analyzed).extracting(AnalyzedArtifact::coordinates).containsExactly(
+				first.coordinates(), cached.coordinates(), second.coordinates(), third.coordinates());
+	}
+
+	private DownloadedArtifact artifact(String name, String content) throws IOException {
+		Path jar = Files.write(directory.resolve(name + ".jar"), content.getBytes(UTF_8));
+		return new DownloadedArtifact(ArtifactCoordinates.from("org.codefx", name, "1.0"), jar);
+	}
+
+}
@@ -0,0 +1,59 @@
+package org.codefx.jwos.jdeps.dependency;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A type pool")
+class TypePoolTest {
+
+	private final TypePool pool = new TypePool();
+
+	@Test
+	@DisplayName("returns the same instance for equal types")
+	void type_equalTypes_sameInstance() {
+		Type type = pool.type(new String("org.codefx"), new String("App"));
+
+		assertThat(pool.type("org.codefx.App")).isSameAs(type);
+		assertThat(pool.type("org.codefx", "App")).isSameAs(type);
+	}
+
+	@Test
+	@DisplayName("interns the package names of different types")
+	void type_samePackage_packageNameInterned() {
+		Type app = pool.type(new String("org.codefx"), "App");
+		Type other = pool.type(new String("org.codefx"), "Other");
+
+		assertThat(other.getPackageName()).isSameAs(app.getPackageName());
+	}
+
+	@Test
+	@DisplayName("returns the same instance for equal internal types")
+	void internalType_equalInternalTypes_sameInstance() {
+		InternalType unsafe = pool.internalType("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+
+		assertThat(pool.internalType("sun.misc.Unsafe", "JDK internal API", "rt.jar")).isSameAs(unsafe);
+		assertThat(pool.internalTypeCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("distinguishes internal types by category and source")
+	void internalType_differentSource_differentInstances() {
+		InternalType fromRtJar = pool.internalType("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+		InternalType fromModule = pool.internalType("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported");
+
+		assertThat(fromModule.getSource()).isEqualTo("jdk.unsupported");
+		assertThat(fromModule).isNotSameAs(fromRtJar);
+		assertThat(pool.internalTypeCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("keeps types and internal types apart")
+	void type_internalTypeOfSameName_plainType() {
+		pool.internalType("sun.misc", "Unsafe", "JDK internal API", "rt.jar");
+
+		assertThat(pool.type("sun.misc", "Unsafe")).isExactlyInstanceOf(Type.class);
+	}
+
+}
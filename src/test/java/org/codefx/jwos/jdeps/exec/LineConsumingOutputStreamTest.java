@@ -0,0 +1,64 @@
+package org.codefx.jwos.jdeps.exec;
+
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("A line consuming output stream")
+class LineConsumingOutputStreamTest {
+
+	private final List<String> lines = new ArrayList<>();
+	private final LineConsumingOutputStream stream = new LineConsumingOutputStream(UTF_8, lines::add);
+
+	@Test
+	@DisplayName("hands over lines split across writes")
+	void write_linesSplitAcrossWrites() {
+		write("first li");
+		write("ne\nsecond line\r\nthi");
+		write("rd line\n");
+
+		assertThat(lines).containsExactly("first line", "second line", "third line");
+	}
+
+	@Test
+	@DisplayName("hands over an unterminated last line on close")
+	void close_unterminatedLineHandedOver() {
+		write("line\nlast line");
+		assertThat(lines).containsExactly("line");
+
+		stream.close();
+		assertThat(lines).containsExactly("line", "last line");
+	}
+
+	@Test
+	@DisplayName("decodes characters split across writes")
+	void write_characterSplitAcrossWrites() {
+		byte[] bytes = "Ünicode\n".getBytes(UTF_8);
+		// 'Ü' takes two bytes in UTF-8
+		stream.write(bytes[0]);
+		stream.write(bytes, 1, bytes.length - 1);
+
+		assertThat(lines).containsExactly("Ünicode");
+	}
+
+	@Test
+	@DisplayName("hands over lines longer than its buffers")
+	void write_longLines() {
+		String longLine = new String(new char[20_000]).replace('\0', 'x');
+		write(longLine + "\n" + longLine);
+		stream.close();
+
+		assertThat(lines).containsExactly(longLine, longLine);
+	}
+
+	private void write(String text) {
+		byte[] bytes = text.getBytes(UTF_8);
+		stream.write(bytes, 0, bytes.length);
+	}
+
+}
@@ -0,0 +1,96 @@
+package org.codefx.jwos.jdeps.exec;
+
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@DisplayName("A streaming JDeps executor")
+class StreamingJdkInternalsExecutorTest {
+
+	private Path fakeJDeps;
+	private Path artifact;
+
+	@BeforeEach
+	void createFiles() throws IOException {
+		fakeJDeps = Files.createTempFile("fake-jdeps", ".sh");
+		artifact = Files.createTempFile("fake-artifact", ".txt");
+	}
+
+	@AfterEach
+	void deleteFiles() throws IOException {
+		Files.deleteIfExists(fakeJDeps);
+		Files.deleteIfExists(artifact);
+	}
+
+	@Test
+	@DisplayName("streams the process' output line by line")
+	void execute_processSucceeds_outputStreamed() throws Exception {
+		// the fake JDeps is called with "-jdkinternals <artifact>" and prints the artifact's content
+		writeFakeJDeps("cat \"$2\"");
+		Files.write(artifact, "first line\nsecond line\r\nthird line".getBytes(UTF_8));
+		List<String> lines = new ArrayList<>();
+
+		new StreamingJdkInternalsExecutor(fakeJDeps).execute(singleton(artifact), lines::add);
+
+		assertThat(lines).containsExactly("first line", "second line", "third line");
+	}
+
+	@Test
+	@DisplayName("fails with the error output if the process returns a non-zero exit code")
+	void execute_processFails_throwsExceptionWithErrorOutput() throws Exception {
+		writeFakeJDeps("echo \"some output\"\necho \"something went wrong\" >&2\nexit 3");
+		List<String> lines = new ArrayList<>();
+
+		Throwable failure = catchThrowable(
+				() -> new StreamingJdkInternalsExecutor(fakeJDeps).execute(singleton(artifact), lines::add));
+
+		assertThat(lines).containsExactly("some output");
+		assertThat(failure)
+				.isInstanceOf(CommandLineException.class)
+				.hasMessageContaining("exit code '3'")
+				.hasMessageContaining("something went wrong");
+	}
+
+	@Test
+	@DisplayName("keeps short error output")
+	void readCapped_shortOutput_keptCompletely() throws IOException {
+		String output = StreamingJdkInternalsExecutor.readCapped(stream("error\nmore error"), 100);
+
+		assertThat(output).isEqualTo("error\nmore error");
+	}
+
+	@Test
+	@DisplayName("discards error output beyond the maximum")
+	void readCapped_longOutput_capped() throws IOException {
+		String longOutput = new String(new char[5000]).replace('\0', 'e');
+
+		String output = StreamingJdkInternalsExecutor.readCapped(stream(longOutput), 1000);
+
+		assertThat(output).startsWith(longOutput.substring(0, 1000) + "\n");
+		assertThat(output).endsWith("(4000 more bytes were discarded)");
+	}
+
+	private void writeFakeJDeps(String script) throws IOException {
+		Files.write(fakeJDeps, ("#!/bin/sh\n" + script + "\n").getBytes(UTF_8));
+		assertThat(fakeJDeps.toFile().setExecutable(true)).isTrue();
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(UTF_8));
+	}
+
+}
@@ -0,0 +1,56 @@
+package org.codefx.jwos.jdeps.parse;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("An archive output splitter")
+class ArchiveOutputSplitterTest {
+
+	private static final String[] OUTPUT = {
+			"first.jar -> /usr/lib/jvm/java-8/jre/lib/rt.jar",
+			"   org.first.App (first.jar)",
+			"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)",
+			"second.jar -> /usr/lib/jvm/java-8/jre/lib/rt.jar",
+			"   org.second.App (second.jar)",
+			"      -> sun.misc.BASE64Encoder                             JDK internal API (rt.jar)",
+			"first.jar -> /usr/lib/jvm/java-8/jre/lib/jce.jar",
+			"   org.first.Crypto (first.jar)",
+			"      -> sun.security.ssl.SSLSocketImpl                     JDK internal API (jce.jar)",
+			"Warning: JDK internal APIs are unsupported and private to JDK implementation that are",
+			"   subject to be removed or changed incompatibly and could break your application.",
+	};
+
+	@Test
+	@DisplayName("hands each archive the lines of its reports")
+	void splitLine_linesSplitByArchive() {
+		List<String> first = new ArrayList<>();
+		List<String> second = new ArrayList<>();
+		ArchiveOutputSplitter splitter = new ArchiveOutputSplitter(
+				ImmutableMap.of("first.jar", first::add, "second.jar", second::add));
+
+		for (String line : OUTPUT)
+			splitter.splitLine(line);
+
+		assertThat(first).containsExactly(OUTPUT[1], OUTPUT[2], OUTPUT[7], OUTPUT[8]);
+		assertThat(second).containsExactly(OUTPUT[4], OUTPUT[5]);
+	}
+
+	@Test
+	@DisplayName("drops lines of unknown archives")
+	void splitLine_unknownArchive_linesDropped() {
+		List<String> second = new ArrayList<>();
+		ArchiveOutputSplitter splitter = new ArchiveOutputSplitter(ImmutableMap.of("second.jar", second::add));
+
+		for (String line : OUTPUT)
+			splitter.splitLine(line);
+
+		assertThat(second).containsExactly(OUTPUT[4], OUTPUT[5]);
+	}
+
+}
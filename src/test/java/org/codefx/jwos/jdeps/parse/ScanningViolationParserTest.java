@@ -0,0 +1,161 @@
+package org.codefx.jwos.jdeps.parse;
+
+import com.google.common.io.Resources;
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("A scanning violation parser")
+class ScanningViolationParserTest {
+
+	private final List<Violation> violations = new ArrayList<>();
+	private final ScanningViolationParser parser = new ScanningViolationParser(violations::add);
+
+	@Test
+	@DisplayName("parses the block format of JDeps 8")
+	void parse_jdeps8Blocks() {
+		parse(
+				"first.jar -> /usr/lib/jvm/java-8/jre/lib/rt.jar",
+				"   org.codefx.App (first.jar)",
+				"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)",
+				"      -> sun.misc.BASE64Encoder                             JDK internal API (rt.jar)",
+				"   org.codefx.Other (first.jar)",
+				"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"),
+						InternalType.of("sun.misc", "BASE64Encoder", "JDK internal API", "rt.jar"))),
+				Violation.buildFor(Type.of("org.codefx.Other"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"))));
+	}
+
+	@Test
+	@DisplayName("parses the single line format of JDeps 9+ and merges lines of the same type")
+	void parse_jdeps9Lines() {
+		parse(
+				"first.jar -> jdk.unsupported",
+				"   org.codefx.App       -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)",
+				"   org.codefx.App       -> sun.misc.Signal          JDK internal API (jdk.unsupported)",
+				"   org.codefx.App$Inner -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"),
+						InternalType.of("sun.misc", "Signal", "JDK internal API", "jdk.unsupported"))),
+				Violation.buildFor(Type.of("org.codefx.App$Inner"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"))));
+	}
+
+	@Test
+	@DisplayName("parses dependencies without a source, which JDeps 9+ reports for removed internal APIs")
+	void parse_removedInternalApi_noSource() {
+		parse(
+				"first.jar -> JDK removed internal API",
+				"   org.codefx.App       -> sun.misc.Perf            JDK removed internal API",
+				"   org.codefx.App       -> sun.reflect.Reflection   JDK removed internal API   ",
+				"first.jar -> jdk.unsupported",
+				"   org.codefx.App       -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Perf", "JDK removed internal API", InternalType.NO_SOURCE),
+						InternalType.of("sun.reflect", "Reflection", "JDK removed internal API", InternalType.NO_SOURCE))),
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"))));
+		// 'Type.equals' ignores category and source, so check them separately
+		assertThat(violations.get(0).getInternalDependencies())
+				.extracting(InternalType::getCategory, InternalType::getSource)
+				.containsOnly(tuple("JDK removed internal API", InternalType.NO_SOURCE));
+	}
+
+	@Test
+	@DisplayName("creates the same violations as the regex-based parser for recorded JDeps 8 output")
+	void parse_recordedJdeps8Output_sameAsViolationParser() throws IOException {
+		assertSameViolationsAsViolationParser(recordedOutput("jdeps-8-output.txt"));
+	}
+
+	@Test
+	@DisplayName("creates the same violations as the regex-based parser for recorded JDeps 9+ output")
+	void parse_recordedJdeps9Output_sameAsViolationParser() throws IOException {
+		assertSameViolationsAsViolationParser(recordedOutput("jdeps-9-output.txt"));
+	}
+
+	@Test
+	@DisplayName("creates the same violations as the regex-based parser for lines that almost match")
+	void parse_edgeCases_sameAsViolationParser() {
+		assertSameViolationsAsViolationParser(asList(
+				"   org.codefx.App (first.jar)",
+				"      -> sun.misc.Unsafe JDK internal API (rt.jar)",
+				"      -> sun.misc.Unsafe    JDK internal API  (rt.jar) and more",
+				"      -> sun.misc.Unsafe$Inner    JDK internal API (rt.jar)",
+				"      -> sun.misc.Unsafe    JDK internal API(rt.jar)",
+				"   org.codefx.App\t(first.jar)",
+				"\t->\tsun.misc.Unsafe\tJDK internal API\t(rt.jar)",
+				"->  sun.misc.Unsafe   JDK internal API (rt.jar)",
+				"   org.codefx.App$Inner (first.jar)",
+				"      -> sun.misc.Unsafe    JDK internal API (rt.jar)",
+				"   org.codefx.App   -> sun.misc.Signal   JDK internal API (jdk.unsupported)",
+				"   org.codefx.Other   -> sun.misc.Signal   JDK internal API (jdk.unsupported)",
+				"   org.codefx.App   -> sun.misc.Unsafe   JDK internal API (jdk.unsupported)",
+				"   org.codefx.App   -> sun.misc.Perf   JDK removed internal API",
+				"   org.codefx.App   -> sun.misc.Perf   JDK removed internal API  \t",
+				""));
+	}
+
+	@Test
+	@DisplayName("ignores input the regex-based parser fails on")
+	void parse_inputViolationParserFailsOn_ignored() {
+		parse(
+				// neither a source in parentheses nor the end of the line after the category
+				"   org.codefx.App       -> sun.misc.Perf            JDK removed internal API rt.jar",
+				"   org.codefx.App       -> sun.misc.Perf            JDK removed internal API (",
+				"   org.codefx.App       ->sun.misc.Unsafe           JDK internal API (jdk.unsupported)",
+				"   org.codefx.App       -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)",
+				// a block without dependencies
+				"   org.codefx.Other (first.jar)",
+				"");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"))));
+	}
+
+	private void parse(String... lines) {
+		for (String line : lines)
+			parser.parseLine(line);
+		parser.finish();
+	}
+
+	private static List<String> recordedOutput(String fileName) throws IOException {
+		return Resources.readLines(Resources.getResource(ScanningViolationParserTest.class, fileName), UTF_8);
+	}
+
+	private void assertSameViolationsAsViolationParser(List<String> lines) {
+		List<Violation> expected = new ArrayList<>();
+		ViolationParser regexParser = new ViolationParser(expected::add);
+		lines.forEach(regexParser::parseLine);
+		regexParser.finish();
+
+		parse(lines.toArray(new String[lines.size()]));
+
+		assertThat(violations).isNotEmpty();
+		assertThat(violations).containsExactlyElementsOf(expected);
+		// 'Type.equals' ignores the internal types' categories and sources but 'toString' includes them
+		assertThat(violations.stream().map(Violation::toString).collect(toList()))
+				.containsExactlyElementsOf(expected.stream().map(Violation::toString).collect(toList()));
+	}
+
+}
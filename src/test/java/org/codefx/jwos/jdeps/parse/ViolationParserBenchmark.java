@@ -0,0 +1,70 @@
+package org.codefx.jwos.jdeps.parse;
+
+import com.google.common.io.Resources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares how fast the regex-based {@link ViolationParser} and the {@link ScanningViolationParser} parse recorded
+ * JDeps output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ViolationParserBenchmark {
+
+	@Param({ "jdeps-8-output.txt", "jdeps-9-output.txt" })
+	private String recordedOutput;
+
+	private String[] lines;
+
+	@Setup
+	public void loadRecordedOutput() throws IOException {
+		List<String> recordedLines = Resources
+				.readLines(Resources.getResource(ViolationParserBenchmark.class, recordedOutput), UTF_8);
+		lines = recordedLines.toArray(new String[recordedLines.size()]);
+	}
+
+	@Benchmark
+	public void regex(Blackhole violations) {
+		ViolationParser parser = new ViolationParser(violations::consume);
+		for (String line : lines)
+			parser.parseLine(line);
+		parser.finish();
+	}
+
+	@Benchmark
+	public void scanning(Blackhole violations) {
+		ScanningViolationParser parser = new ScanningViolationParser(violations::consume);
+		for (String line : lines)
+			parser.parseLine(line);
+		parser.finish();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ViolationParserBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.codefx.jwos.jdeps.parse;
+
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("A violation parser")
+class ViolationParserTest {
+
+	private final List<Violation> violations = new ArrayList<>();
+	private final ViolationParser parser = new ViolationParser(violations::add);
+
+	@Test
+	@DisplayName("parses the block format of JDeps 8")
+	void parse_jdeps8Blocks() {
+		parse(
+				"first.jar -> /usr/lib/jvm/java-8/jre/lib/rt.jar",
+				"   org.codefx.App (first.jar)",
+				"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)",
+				"      -> sun.misc.BASE64Encoder                             JDK internal API (rt.jar)",
+				"   org.codefx.Other (first.jar)",
+				"      -> sun.misc.Unsafe                                    JDK internal API (rt.jar)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"),
+						InternalType.of("sun.misc", "BASE64Encoder", "JDK internal API", "rt.jar"))),
+				Violation.buildFor(Type.of("org.codefx.Other"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "rt.jar"))));
+	}
+
+	@Test
+	@DisplayName("parses the single line format of JDeps 9+ and merges lines of the same type")
+	void parse_jdeps9Lines() {
+		parse(
+				"first.jar -> jdk.unsupported",
+				"   org.codefx.App       -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)",
+				"   org.codefx.App       -> sun.misc.Signal          JDK internal API (jdk.unsupported)",
+				"   org.codefx.App$Inner -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"),
+						InternalType.of("sun.misc", "Signal", "JDK internal API", "jdk.unsupported"))),
+				Violation.buildFor(Type.of("org.codefx.App$Inner"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"))));
+	}
+
+	@Test
+	@DisplayName("parses dependencies without a source, which JDeps 9+ reports for removed internal APIs")
+	void parse_removedInternalApi_noSource() {
+		parse(
+				"first.jar -> JDK removed internal API",
+				"   org.codefx.App       -> sun.misc.Perf            JDK removed internal API",
+				"   org.codefx.App       -> sun.reflect.Reflection   JDK removed internal API   ",
+				"first.jar -> jdk.unsupported",
+				"   org.codefx.App       -> sun.misc.Unsafe          JDK internal API (jdk.unsupported)");
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Perf", "JDK removed internal API", InternalType.NO_SOURCE),
+						InternalType.of("sun.reflect", "Reflection", "JDK removed internal API", InternalType.NO_SOURCE))),
+				Violation.buildFor(Type.of("org.codefx.App"), asList(
+						InternalType.of("sun.misc", "Unsafe", "JDK internal API", "jdk.unsupported"))));
+		// 'Type.equals' ignores category and source, so check them separately
+		assertThat(violations.get(0).getInternalDependencies())
+				.extracting(InternalType::getCategory, InternalType::getSource)
+				.containsOnly(tuple("JDK removed internal API", InternalType.NO_SOURCE));
+	}
+
+	private void parse(String... lines) {
+		for (String line : lines)
+			parser.parseLine(line);
+		parser.finish();
+	}
+
+}
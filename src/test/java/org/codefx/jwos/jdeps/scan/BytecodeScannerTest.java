@@ -0,0 +1,198 @@
+package org.codefx.jwos.jdeps.scan;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import org.codefx.jwos.jdeps.dependency.InternalType;
+import org.codefx.jwos.jdeps.dependency.Type;
+import org.codefx.jwos.jdeps.dependency.Violation;
+import org.junit.gen5.api.AfterEach;
+import org.junit.gen5.api.BeforeEach;
+import org.junit.gen5.api.DisplayName;
+import org.junit.gen5.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("A bytecode scanner")
+class BytecodeScannerTest {
+
+	private static final String CATEGORY = "JDK internal API";
+	private static final String SOURCE = "JDK";
+
+	private Path jar;
+
+	@BeforeEach
+	void createJar() throws IOException {
+		jar = Files.createTempFile("bytecode-scanner-test", ".jar");
+	}
+
+	@AfterEach
+	void deleteJar() throws IOException {
+		Files.deleteIfExists(jar);
+	}
+
+	@Test
+	@DisplayName("reports references to internal packages from fields, methods, and code")
+	void analyze_referencesInternalPackages_violations() throws IOException {
+		writeJar(UsesConcurrentMap.class, UsesLock.class, UsesNothingInternal.class);
+		BytecodeScanner scanner = new BytecodeScanner(
+				InternalPackages.of(singleton("java.util.concurrent"), singleton("java.util.concurrent.atomic")));
+
+		ImmutableSet<Violation> violations = scanner.analyze(jar);
+
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of(UsesConcurrentMap.class.getName()), asList(
+						InternalType.of("java.util.concurrent.ConcurrentHashMap", CATEGORY, SOURCE),
+						InternalType.of("java.util.concurrent.ConcurrentMap", CATEGORY, SOURCE))),
+				Violation.buildFor(Type.of(UsesLock.class.getName()), asList(
+						InternalType.of("java.util.concurrent.locks.ReentrantLock", CATEGORY, SOURCE))));
+	}
+
+	@Test
+	@DisplayName("does not report types defined in the analyzed JAR")
+	void analyze_referencesTypesInJar_notReported() throws IOException {
+		writeJar(UsesLock.class, UsesNothingInternal.class);
+		BytecodeScanner scanner = new BytecodeScanner(
+				InternalPackages.of(singleton(BytecodeScannerTest.class.getPackage().getName()), emptySet()));
+
+		ImmutableSet<Violation> violations = scanner.analyze(jar);
+
+		// the nested classes reference their enclosing class, which is not in the JAR
+		InternalType enclosingClass = InternalType.of(BytecodeScannerTest.class.getName(), CATEGORY, SOURCE);
+		assertThat(violations).containsExactly(
+				Violation.buildFor(Type.of(UsesLock.class.getName()), singleton(enclosingClass)),
+				Violation.buildFor(Type.of(UsesNothingInternal.class.getName()), singleton(enclosingClass)));
+	}
+
+	@Test
+	@DisplayName("scans large JARs in parallel and merges the results")
+	void analyze_largeJar_sameViolationsAsSmallJar() throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+			// the entry names differ but the scanned classes are the same, so the violations must be as well
+			for (int i = 0; i < 10 * ScanClassesTask.MAX_ENTRIES_PER_TASK; i++)
+				writeClass(zip, "copy" + i + "/Copy.class", i % 2 == 0 ? UsesConcurrentMap.class : UsesLock.class);
+		}
+		// the pool only starts another worker if a task was forked, so counting the workers shows that the JAR was split
+		AtomicInteger createdWorkers = new AtomicInteger();
+		ForkJoinPool pool = new ForkJoinPool(
+				4,
+				forkJoinPool -> {
+					createdWorkers.incrementAndGet();
+					return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+				},
+				null,
+				false);
+		BytecodeScanner scanner = new BytecodeScanner(
+				InternalPackages.of(singleton("java.util.concurrent"), emptySet()), pool);
+
+		ImmutableSet<Violation> violations = scanner.analyze(jar);
+		pool.shutdown();
+
+		assertThat(createdWorkers.get()).isGreaterThan(1);
+		assertThat(violations).extracting(Violation::getDependent).containsExactly(
+				Type.of(UsesConcurrentMap.class.getName()),
+				Type.of(UsesLock.class.getName()));
+	}
+
+	@Test
+	@DisplayName("only scans classes that changed since they were last scanned")
+	void analyze_unchangedClasses_takenFromCache() throws IOException {
+		BytecodeScanner scanner = new BytecodeScanner(
+				InternalPackages.of(singleton("java.util.concurrent"), singleton("java.util.concurrent.atomic")));
+		writeJar(UsesConcurrentMap.class, UsesLock.class);
+		ImmutableSet<Violation> firstVersion = scanner.analyze(jar);
+
+		// the next version contains one unchanged and one new class
+		writeJar(UsesConcurrentMap.class, UsesNothingInternal.class);
+		ImmutableSet<Violation> secondVersion = scanner.analyze(jar);
+
+		assertThat(scanner.classCacheStats().hitCount()).isEqualTo(1);
+		assertThat(scanner.classCacheStats().missCount()).isEqualTo(3);
+		assertThat(secondVersion).containsExactly(firstVersion.asList().get(0));
+	}
+
+	@Test
+	@DisplayName("fails on malformed class files")
+	void analyze_malformedClassFile_fails() throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+			zip.putNextEntry(new ZipEntry("org/codefx/Broken.class"));
+			zip.write(new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0 });
+			zip.closeEntry();
+		}
+
+		assertThatThrownBy(() -> new BytecodeScanner().analyze(jar))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("org/codefx/Broken.class");
+	}
+
+	private void writeJar(Class<?>... classes) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+			for (Class<?> type : classes)
+				writeClass(zip, type);
+		}
+	}
+
+	private static void writeClass(ZipOutputStream zip, Class<?> type) throws IOException {
+		writeClass(zip, toEntryName(type), type);
+	}
+
+	private static void writeClass(ZipOutputStream zip, String entryName, Class<?> type) throws IOException {
+		zip.putNextEntry(new ZipEntry(entryName));
+		try (InputStream classFile = type.getClassLoader().getResourceAsStream(toEntryName(type))) {
+			ByteStreams.copy(classFile, (OutputStream) zip);
+		}
+		zip.closeEntry();
+	}
+
+	private static String toEntryName(Class<?> type) {
+		return type.getName().replace('.', '/') + ".class";
+	}
+
+	// #begin SCANNED CLASSES
+
+	static class UsesConcurrentMap {
+
+		ConcurrentHashMap<String, String> map;
+
+		int count(java.util.concurrent.ConcurrentMap<String, String> other) {
+			return map.size() + other.size();
+		}
+
+	}
+
+	static class UsesLock {
+
+		void lock() {
+			new ReentrantLock().lock();
+			new UsesNothingInternal().run();
+		}
+
+	}
+
+	static class UsesNothingInternal {
+
+		java.util.concurrent.atomic.AtomicLong counter;
+
+		void run() {
+		}
+
+	}
+
+	// #end SCANNED CLASSES
+
+}